@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.media3;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.util.Pair;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.WorkerThread;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceInputStream;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultDataSource;
+import androidx.media3.exoplayer.dash.DashSegmentIndex;
+import androidx.media3.exoplayer.dash.manifest.AdaptationSet;
+import androidx.media3.exoplayer.dash.manifest.DashManifest;
+import androidx.media3.exoplayer.dash.manifest.Descriptor;
+import androidx.media3.exoplayer.dash.manifest.Period;
+import androidx.media3.exoplayer.dash.manifest.RangedUri;
+import androidx.media3.exoplayer.dash.manifest.Representation;
+
+import com.github.rubensousa.previewseekbar.PreviewBucketPolicy;
+import com.github.rubensousa.previewseekbar.loader.ImagePreviewLoader;
+import com.github.rubensousa.previewseekbar.loader.RegionDecoderCache;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An {@link ImagePreviewLoader} that displays the thumbnails of the image adaptation set
+ * of the DASH manifest that's currently playing.
+ * <p>
+ * The tile grid is read from the <code>http://dashif.org/thumbnail_tile</code>
+ * essential property and the tile images are resolved from the segment index
+ * of the image representation, so no separate storyboard is needed.
+ * <p>
+ * This loader is also a {@link PreviewBucketPolicy} with one bucket for each tile,
+ * so it can be passed to {@link PreviewTimeBar#setPreviewBucketPolicy(PreviewBucketPolicy)}.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public class DashThumbnailPreviewLoader extends ImagePreviewLoader
+        implements PreviewBucketPolicy {
+
+    private static final String THUMBNAIL_TILE_SCHEME = "http://dashif.org/thumbnail_tile";
+    private static final String THUMBNAIL_TILE_GUIDELINES_SCHEME
+            = "http://dashif.org/guidelines/thumbnail_tile";
+
+    private final DataSource.Factory dataSourceFactory;
+    private final Timeline.Window window;
+    private final Timeline.Period period;
+    @Nullable
+    private Player player;
+    @Nullable
+    private volatile DashManifest manifest;
+
+    // Only accessed from the decoding thread
+    private final Rect region;
+    private final RegionDecoderCache regionDecoderCache;
+
+    public DashThumbnailPreviewLoader(@NonNull ImageView imageView) {
+        this(imageView, new DefaultDataSource.Factory(imageView.getContext()));
+    }
+
+    /**
+     * @param imageView         the view that displays the thumbnails
+     * @param dataSourceFactory the factory of the data sources that'll fetch the tile images
+     */
+    public DashThumbnailPreviewLoader(@NonNull ImageView imageView,
+                                      @NonNull DataSource.Factory dataSourceFactory) {
+        super(imageView);
+        this.dataSourceFactory = dataSourceFactory;
+        this.window = new Timeline.Window();
+        this.period = new Timeline.Period();
+        this.region = new Rect();
+        this.regionDecoderCache = new RegionDecoderCache();
+    }
+
+    /**
+     * @param player the player whose current manifest provides the thumbnails, or null to clear it
+     */
+    public void setPlayer(@Nullable Player player) {
+        this.player = player;
+    }
+
+    /**
+     * @return true if the current manifest has a thumbnail adaptation set
+     */
+    public boolean hasThumbnails() {
+        final DashManifest currentManifest = getCurrentManifest();
+        if (currentManifest == null) {
+            return false;
+        }
+        for (int i = 0; i < currentManifest.getPeriodCount(); i++) {
+            if (findThumbnailRepresentation(currentManifest.getPeriod(i)) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public long getBucket(long position, long max) {
+        return getTileIndex(position, max);
+    }
+
+    @Override
+    protected long getTileIndex(long position, long max) {
+        final DashManifest currentManifest = getCurrentManifest();
+        final Player currentPlayer = player;
+        if (currentManifest == null || currentPlayer == null || position < 0) {
+            return NO_TILE;
+        }
+        manifest = currentManifest;
+
+        // Convert the window position into a position inside one of the periods
+        final Timeline timeline = currentPlayer.getCurrentTimeline();
+        if (timeline.isEmpty()) {
+            return NO_TILE;
+        }
+        final int windowIndex = currentPlayer.getCurrentMediaItemIndex();
+        timeline.getWindow(windowIndex, window);
+        final Pair<Object, Long> periodPosition = timeline.getPeriodPositionUs(window, period,
+                windowIndex, Util.msToUs(position));
+        final int timelinePeriodIndex = timeline.getIndexOfPeriod(periodPosition.first);
+        if (timelinePeriodIndex == C.INDEX_UNSET) {
+            return NO_TILE;
+        }
+        // The timeline indexes the periods of the whole playlist,
+        // but the manifest only has the periods of the current item
+        final int periodIndex = timelinePeriodIndex - window.firstPeriodIndex;
+        if (periodIndex < 0 || periodIndex >= currentManifest.getPeriodCount()) {
+            return NO_TILE;
+        }
+        final long periodPositionUs = periodPosition.second;
+        final Period manifestPeriod = currentManifest.getPeriod(periodIndex);
+        final ThumbnailRepresentation thumbnails = findThumbnailRepresentation(manifestPeriod);
+        if (thumbnails == null) {
+            return NO_TILE;
+        }
+        final DashSegmentIndex segmentIndex = thumbnails.representation.getIndex();
+        if (segmentIndex == null) {
+            return NO_TILE;
+        }
+        final long periodDurationUs = currentManifest.getPeriodDurationUs(periodIndex);
+        final long segmentNum = segmentIndex.getSegmentNum(periodPositionUs, periodDurationUs);
+        final long tileDurationUs = getTileDurationUs(thumbnails, segmentIndex, segmentNum,
+                periodDurationUs);
+        if (tileDurationUs <= 0) {
+            return NO_TILE;
+        }
+        final long segmentStartUs = segmentIndex.getTimeUs(segmentNum);
+        final long tile = getTileOfSegment(thumbnails, periodPositionUs - segmentStartUs,
+                tileDurationUs);
+        // Tiles are identified by their start time in the manifest, which doesn't change
+        // when a live manifest removes its oldest periods, unlike the period indexes
+        return Util.msToUs(manifestPeriod.startMs) + segmentStartUs + tile * tileDurationUs;
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    protected Bitmap decodeTile(long tileIndex) throws IOException {
+        final DashManifest currentManifest = manifest;
+        if (currentManifest == null) {
+            return null;
+        }
+        // The tile index is the start time of the tile in the manifest
+        final int periodIndex = findPeriodIndex(currentManifest, tileIndex);
+        if (periodIndex == C.INDEX_UNSET) {
+            return null;
+        }
+        final Period manifestPeriod = currentManifest.getPeriod(periodIndex);
+        final ThumbnailRepresentation thumbnails = findThumbnailRepresentation(manifestPeriod);
+        if (thumbnails == null) {
+            return null;
+        }
+        final Representation representation = thumbnails.representation;
+        final DashSegmentIndex segmentIndex = representation.getIndex();
+        if (segmentIndex == null || representation.baseUrls.isEmpty()) {
+            return null;
+        }
+        final long periodPositionUs = tileIndex - Util.msToUs(manifestPeriod.startMs);
+        final long periodDurationUs = currentManifest.getPeriodDurationUs(periodIndex);
+        final long segmentNum = segmentIndex.getSegmentNum(periodPositionUs, periodDurationUs);
+        final long tileDurationUs = getTileDurationUs(thumbnails, segmentIndex, segmentNum,
+                periodDurationUs);
+        if (tileDurationUs <= 0) {
+            return null;
+        }
+        final int tile = (int) getTileOfSegment(thumbnails,
+                periodPositionUs - segmentIndex.getTimeUs(segmentNum), tileDurationUs);
+        // Like the tile indexes, segments are identified by their start time in the manifest
+        final long key = Util.msToUs(manifestPeriod.startMs) + segmentIndex.getTimeUs(segmentNum);
+        BitmapRegionDecoder decoder = regionDecoderCache.get(key);
+        if (decoder == null) {
+            final RangedUri rangedUri = segmentIndex.getSegmentUrl(segmentNum);
+            final Uri uri = rangedUri.resolveUri(representation.baseUrls.get(0).url);
+            final DataSpec dataSpec = new DataSpec.Builder()
+                    .setUri(uri)
+                    .setPosition(rangedUri.start)
+                    .setLength(rangedUri.length)
+                    .build();
+            decoder = regionDecoderCache.open(key, new DataSourceInputStream(
+                    dataSourceFactory.createDataSource(), dataSpec));
+        }
+        final int tileWidth = decoder.getWidth() / thumbnails.columns;
+        final int tileHeight = decoder.getHeight() / thumbnails.rows;
+        final int left = (tile % thumbnails.columns) * tileWidth;
+        final int top = (tile / thumbnails.columns) * tileHeight;
+        region.set(left, top, left + tileWidth, top + tileHeight);
+        return decodeRegion(decoder, region);
+    }
+
+    @WorkerThread
+    @Override
+    protected void onRelease() {
+        regionDecoderCache.release();
+    }
+
+    @Nullable
+    private DashManifest getCurrentManifest() {
+        if (player == null) {
+            return null;
+        }
+        final Object currentManifest = player.getCurrentManifest();
+        if (currentManifest instanceof DashManifest) {
+            return (DashManifest) currentManifest;
+        }
+        return null;
+    }
+
+    /**
+     * @return the index of the period that contains a time of the manifest,
+     * or {@link C#INDEX_UNSET} if it's before the first period
+     */
+    private static int findPeriodIndex(DashManifest manifest, long timeUs) {
+        for (int i = manifest.getPeriodCount() - 1; i >= 0; i--) {
+            if (Util.msToUs(manifest.getPeriod(i).startMs) <= timeUs) {
+                return i;
+            }
+        }
+        return C.INDEX_UNSET;
+    }
+
+    /**
+     * @return the duration of each tile of a segment, or 0 if the segment doesn't exist
+     */
+    private static long getTileDurationUs(ThumbnailRepresentation thumbnails,
+                                          DashSegmentIndex segmentIndex, long segmentNum,
+                                          long periodDurationUs) {
+        if (segmentNum < 0) {
+            return 0;
+        }
+        final long segmentDurationUs = segmentIndex.getDurationUs(segmentNum, periodDurationUs);
+        if (segmentDurationUs <= 0) {
+            return 0;
+        }
+        return Math.max(1, segmentDurationUs / thumbnails.getTileCount());
+    }
+
+    /**
+     * @return the tile of a segment that contains a position relative to the segment start
+     */
+    private static long getTileOfSegment(ThumbnailRepresentation thumbnails,
+                                         long segmentPositionUs, long tileDurationUs) {
+        return Math.max(0, Math.min(thumbnails.getTileCount() - 1,
+                segmentPositionUs / tileDurationUs));
+    }
+
+    @Nullable
+    private static ThumbnailRepresentation findThumbnailRepresentation(Period period) {
+        for (int i = 0; i < period.adaptationSets.size(); i++) {
+            final AdaptationSet adaptationSet = period.adaptationSets.get(i);
+            if (adaptationSet.representations.isEmpty()) {
+                continue;
+            }
+            final Representation representation = adaptationSet.representations.get(0);
+            if (!isImageAdaptationSet(adaptationSet, representation)) {
+                continue;
+            }
+            Descriptor tileDescriptor = findTileDescriptor(representation.essentialProperties);
+            if (tileDescriptor == null) {
+                tileDescriptor = findTileDescriptor(adaptationSet.essentialProperties);
+            }
+            int columns = 1;
+            int rows = 1;
+            if (tileDescriptor != null && tileDescriptor.value != null) {
+                final String[] grid = tileDescriptor.value.split("x");
+                if (grid.length == 2) {
+                    try {
+                        columns = Math.max(1, Integer.parseInt(grid[0].trim()));
+                        rows = Math.max(1, Integer.parseInt(grid[1].trim()));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                }
+            }
+            return new ThumbnailRepresentation(representation, columns, rows);
+        }
+        return null;
+    }
+
+    private static boolean isImageAdaptationSet(AdaptationSet adaptationSet,
+                                                Representation representation) {
+        if (adaptationSet.type == C.TRACK_TYPE_IMAGE) {
+            return true;
+        }
+        final String mimeType = representation.format.containerMimeType != null
+                ? representation.format.containerMimeType
+                : representation.format.sampleMimeType;
+        return mimeType != null && mimeType.startsWith("image/");
+    }
+
+    @Nullable
+    private static Descriptor findTileDescriptor(List<Descriptor> descriptors) {
+        for (int i = 0; i < descriptors.size(); i++) {
+            final Descriptor descriptor = descriptors.get(i);
+            if (THUMBNAIL_TILE_SCHEME.equals(descriptor.schemeIdUri)
+                    || THUMBNAIL_TILE_GUIDELINES_SCHEME.equals(descriptor.schemeIdUri)) {
+                return descriptor;
+            }
+        }
+        return null;
+    }
+
+    private static class ThumbnailRepresentation {
+
+        final Representation representation;
+        final int columns;
+        final int rows;
+
+        ThumbnailRepresentation(Representation representation, int columns, int rows) {
+            this.representation = representation;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        int getTileCount() {
+            return columns * rows;
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.media3;
+
+import android.content.Context;
+import android.net.Uri;
+import android.view.TextureView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.Player;
+import androidx.media3.common.Timeline;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.hls.HlsManifest;
+import androidx.media3.exoplayer.hls.playlist.HlsMultivariantPlaylist;
+
+import java.util.List;
+
+/**
+ * A {@link VideoPreviewLoader} that plays the I-frame only variant
+ * (<code>EXT-X-I-FRAME-STREAM-INF</code>) of the HLS stream that's currently playing.
+ * <p>
+ * Every segment of an I-frame playlist is a single key frame fetched with a byte range,
+ * so each preview decodes one frame, using a fraction of the bandwidth
+ * of seeking the main rendition.
+ * <p>
+ * The smallest I-frame variant that covers the preview height is used.
+ * If the current manifest has no I-frame variant, no previews are loaded,
+ * which can be checked with {@link #hasIFrameVariant()}.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public class HlsIFramePreviewLoader extends VideoPreviewLoader {
+
+    private final Player.Listener mainPlayerListener;
+    @Nullable
+    private Player mainPlayer;
+    @Nullable
+    private Uri variantUri;
+    private int previewHeight;
+
+    public HlsIFramePreviewLoader(@NonNull Context context, @NonNull TextureView textureView) {
+        super(context, textureView);
+        this.mainPlayerListener = new Player.Listener() {
+            @Override
+            public void onTimelineChanged(@NonNull Timeline timeline, int reason) {
+                updateVariant();
+            }
+        };
+    }
+
+    /**
+     * @param player the player whose current HLS manifest provides the I-frame variants,
+     *               or null to clear it
+     */
+    public void setPlayer(@Nullable Player player) {
+        if (mainPlayer != null) {
+            mainPlayer.removeListener(mainPlayerListener);
+        }
+        mainPlayer = player;
+        if (player != null) {
+            player.addListener(mainPlayerListener);
+        }
+        updateVariant();
+    }
+
+    /**
+     * @return true if the current manifest has an I-frame variant
+     */
+    public boolean hasIFrameVariant() {
+        return variantUri != null;
+    }
+
+    @Override
+    public void onPreviewSizeChanged(int width, int height) {
+        super.onPreviewSizeChanged(width, height);
+        previewHeight = height;
+        updateVariant();
+    }
+
+    /**
+     * Releases the preview player and stops listening to the main player
+     */
+    @Override
+    public void release() {
+        setPlayer(null);
+        super.release();
+    }
+
+    private void updateVariant() {
+        final HlsMultivariantPlaylist.Variant variant = findIFrameVariant();
+        final Uri uri = variant == null ? null : variant.url;
+        if (uri == null ? variantUri == null : uri.equals(variantUri)) {
+            return;
+        }
+        variantUri = uri;
+        if (uri == null) {
+            setMediaItem(null);
+        } else {
+            setMediaItem(new MediaItem.Builder()
+                    .setUri(uri)
+                    .setMimeType(MimeTypes.APPLICATION_M3U8)
+                    .build());
+        }
+    }
+
+    @Nullable
+    private HlsMultivariantPlaylist.Variant findIFrameVariant() {
+        if (mainPlayer == null) {
+            return null;
+        }
+        final Object manifest = mainPlayer.getCurrentManifest();
+        if (!(manifest instanceof HlsManifest)) {
+            return null;
+        }
+        final List<HlsMultivariantPlaylist.Variant> variants
+                = ((HlsManifest) manifest).multivariantPlaylist.variants;
+        HlsMultivariantPlaylist.Variant coveringVariant = null;
+        HlsMultivariantPlaylist.Variant biggestVariant = null;
+        for (int i = 0; i < variants.size(); i++) {
+            final HlsMultivariantPlaylist.Variant variant = variants.get(i);
+            final Format format = variant.format;
+            if ((format.roleFlags & C.ROLE_FLAG_TRICK_PLAY) == 0) {
+                continue;
+            }
+            if (format.height != Format.NO_VALUE && format.height >= previewHeight
+                    && (coveringVariant == null || isSmaller(format, coveringVariant.format))) {
+                coveringVariant = variant;
+            }
+            if (biggestVariant == null || isSmaller(biggestVariant.format, format)) {
+                biggestVariant = variant;
+            }
+        }
+        return coveringVariant != null ? coveringVariant : biggestVariant;
+    }
+
+    /**
+     * Compares by height, or by bitrate if the heights are the same or unknown
+     */
+    private static boolean isSmaller(Format format, Format other) {
+        if (format.height != other.height
+                && format.height != Format.NO_VALUE && other.height != Format.NO_VALUE) {
+            return format.height < other.height;
+        }
+        return format.bitrate < other.bitrate;
+    }
+
+}
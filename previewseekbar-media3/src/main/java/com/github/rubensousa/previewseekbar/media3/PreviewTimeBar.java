@@ -26,13 +26,17 @@ import android.view.ViewGroup;
 import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
 import androidx.core.content.ContextCompat;
+import androidx.media3.common.Player;
 import androidx.media3.common.util.UnstableApi;
 import androidx.media3.ui.DefaultTimeBar;
 import androidx.media3.ui.TimeBar;
 
+import com.github.rubensousa.previewseekbar.AsyncPreviewLoader;
 import com.github.rubensousa.previewseekbar.PreviewBar;
+import com.github.rubensousa.previewseekbar.PreviewBucketPolicy;
 import com.github.rubensousa.previewseekbar.PreviewDelegate;
 import com.github.rubensousa.previewseekbar.PreviewLoader;
 import com.github.rubensousa.previewseekbar.PreviewSeekBar;
@@ -47,8 +51,10 @@ import com.github.rubensousa.previewseekbar.animator.PreviewAnimator;
 public class PreviewTimeBar extends DefaultTimeBar implements PreviewBar {
 
     private PreviewDelegate delegate;
-    private int scrubProgress;
-    private int duration;
+    @Nullable
+    private ScrubSeekController scrubSeekController;
+    private long scrubProgress;
+    private long duration;
     private int scrubberColor;
     private int previewId;
     private int scrubberPadding;
@@ -134,10 +140,54 @@ public class PreviewTimeBar extends DefaultTimeBar implements PreviewBar {
     }
 
     @Override
-    public void setPreviewLoader(PreviewLoader previewLoader) {
+    public void setPreviewLoader(@Nullable PreviewLoader previewLoader) {
         delegate.setPreviewLoader(previewLoader);
     }
 
+    @Override
+    public void setAsyncPreviewLoader(@Nullable AsyncPreviewLoader previewLoader) {
+        delegate.setAsyncPreviewLoader(previewLoader);
+    }
+
+    @Override
+    public void setPreviewBucketPolicy(@Nullable PreviewBucketPolicy bucketPolicy) {
+        delegate.setBucketPolicy(bucketPolicy);
+    }
+
+    @Override
+    public void setPreviewFrameCoalescingEnabled(boolean enabled) {
+        delegate.setFrameCoalescingEnabled(enabled);
+    }
+
+    @Override
+    public void setOnScrubMetricsListener(@Nullable OnScrubMetricsListener listener) {
+        delegate.setOnScrubMetricsListener(listener);
+    }
+
+    /**
+     * Makes a player follow the scrubbing with a {@link ScrubSeekController}
+     *
+     * @param player the player that seeks while scrubbing, or null to disable seeking on scrub
+     */
+    public void setScrubSeekPlayer(@Nullable Player player) {
+        if (scrubSeekController != null) {
+            delegate.removeOnScrubListener(scrubSeekController);
+            scrubSeekController = null;
+        }
+        if (player != null) {
+            scrubSeekController = new ScrubSeekController(player);
+            delegate.addOnScrubListener(scrubSeekController);
+        }
+    }
+
+    /**
+     * @return the controller created by {@link #setScrubSeekPlayer(Player)}, to configure it
+     */
+    @Nullable
+    public ScrubSeekController getScrubSeekController() {
+        return scrubSeekController;
+    }
+
     @Override
     public void attachPreviewView(@NonNull FrameLayout previewView) {
         delegate.attachPreviewView(previewView);
@@ -146,20 +196,18 @@ public class PreviewTimeBar extends DefaultTimeBar implements PreviewBar {
     @Override
     public void setDuration(long duration) {
         super.setDuration(duration);
-        final int newDuration = (int) duration;
-        if (newDuration != this.duration) {
-            this.duration = newDuration;
-            delegate.updateProgress(getProgress(), newDuration);
+        if (duration != this.duration) {
+            this.duration = duration;
+            delegate.updateProgress(scrubProgress, duration);
         }
     }
 
     @Override
     public void setPosition(long position) {
         super.setPosition(position);
-        final int newPosition = (int) position;
-        if (newPosition != scrubProgress) {
-            this.scrubProgress = newPosition;
-            delegate.updateProgress(newPosition, duration);
+        if (position != scrubProgress) {
+            this.scrubProgress = position;
+            delegate.updateProgress(position, duration);
         }
     }
 
@@ -195,11 +243,21 @@ public class PreviewTimeBar extends DefaultTimeBar implements PreviewBar {
 
     @Override
     public int getProgress() {
-        return scrubProgress;
+        return (int) Math.min(Integer.MAX_VALUE, scrubProgress);
     }
 
     @Override
     public int getMax() {
+        return (int) Math.min(Integer.MAX_VALUE, duration);
+    }
+
+    @Override
+    public long getLongProgress() {
+        return scrubProgress;
+    }
+
+    @Override
+    public long getLongMax() {
         return duration;
     }
 
@@ -260,19 +318,22 @@ public class PreviewTimeBar extends DefaultTimeBar implements PreviewBar {
 
         @Override
         public void onScrubStart(@NonNull TimeBar timeBar, long position) {
-            scrubProgress = (int) position;
+            scrubProgress = position;
             delegate.onScrubStart();
         }
 
         @Override
         public void onScrubMove(@NonNull TimeBar timeBar, long position) {
-            scrubProgress = (int) position;
-            delegate.onScrubMove((int) position, true);
+            scrubProgress = position;
+            delegate.onScrubMove(position, duration, true);
         }
 
         @Override
         public void onScrubStop(@NonNull TimeBar timeBar, long position, boolean canceled) {
-            scrubProgress = (int) position;
+            scrubProgress = position;
+            if (canceled && scrubSeekController != null) {
+                scrubSeekController.cancelScrub();
+            }
             delegate.onScrubStop();
         }
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.media3;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.SeekParameters;
+
+import com.github.rubensousa.previewseekbar.PreviewBar;
+
+/**
+ * Makes a {@link Player} follow the scrubbing of a {@link PreviewBar}
+ * without flooding it with seeks, since each one flushes the rendering pipeline.
+ * <p>
+ * While scrubbing, seeks are limited to a maximum rate and only the newest target is kept.
+ * Targets within the tolerance of the previous seek are skipped,
+ * and an {@link ExoPlayer} snaps to the closest key frame to avoid decoding other frames.
+ * When the scrubbing stops, the player seeks to the exact position,
+ * or back to the position it had before scrubbing if the scrub was cancelled.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public class ScrubSeekController implements PreviewBar.OnScrubListener {
+
+    private static final int DEFAULT_MAX_SEEKS_PER_SECOND = 10;
+    private static final long DEFAULT_TOLERANCE_MS = 250;
+
+    private final Player player;
+    private final Handler handler;
+    private final Runnable seekRunnable;
+    private long minSeekIntervalMs = 1000 / DEFAULT_MAX_SEEKS_PER_SECOND;
+    private long toleranceMs = DEFAULT_TOLERANCE_MS;
+    private boolean scrubbing;
+    private boolean canceled;
+    private long scrubStartPosition;
+    private boolean seekScheduled;
+    private boolean hasPendingSeek;
+    private long pendingSeekPosition;
+    private long lastSeekPosition = C.TIME_UNSET;
+    private long lastSeekTimeMs;
+    private SeekParameters previousSeekParameters = SeekParameters.DEFAULT;
+
+    public ScrubSeekController(@NonNull Player player) {
+        this.player = player;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.seekRunnable = new Runnable() {
+            @Override
+            public void run() {
+                seekScheduled = false;
+                seekToPendingPosition();
+            }
+        };
+    }
+
+    /**
+     * @param seeksPerSecond the maximum number of seeks while scrubbing. Default is 10
+     */
+    public void setMaxSeekRate(int seeksPerSecond) {
+        if (seeksPerSecond <= 0) {
+            throw new IllegalArgumentException("Seek rate must be greater than 0");
+        }
+        this.minSeekIntervalMs = 1000 / seeksPerSecond;
+    }
+
+    /**
+     * @param toleranceMs the minimum distance from the previous seek for a new seek
+     *                    while scrubbing. Default is 250 ms
+     */
+    public void setToleranceMs(long toleranceMs) {
+        this.toleranceMs = toleranceMs;
+    }
+
+    @Override
+    public void onScrubStart(PreviewBar previewBar) {
+        scrubbing = true;
+        canceled = false;
+        scrubStartPosition = player.getCurrentPosition();
+        lastSeekPosition = C.TIME_UNSET;
+        if (player instanceof ExoPlayer) {
+            final ExoPlayer exoPlayer = (ExoPlayer) player;
+            previousSeekParameters = exoPlayer.getSeekParameters();
+            exoPlayer.setSeekParameters(SeekParameters.CLOSEST_SYNC);
+        }
+    }
+
+    @Override
+    public void onScrubMove(PreviewBar previewBar, int progress, boolean fromUser) {
+        if (!scrubbing || !fromUser) {
+            return;
+        }
+        // Older targets are overwritten, so only the newest one is sought
+        pendingSeekPosition = previewBar.getLongProgress();
+        hasPendingSeek = true;
+        if (seekScheduled) {
+            return;
+        }
+        final long delayMs = lastSeekTimeMs + minSeekIntervalMs - SystemClock.uptimeMillis();
+        if (delayMs <= 0) {
+            seekToPendingPosition();
+        } else {
+            seekScheduled = true;
+            handler.postDelayed(seekRunnable, delayMs);
+        }
+    }
+
+    /**
+     * Makes the player return to the position it had before the current scrub
+     * when it stops, instead of seeking to the position of the bar.
+     * Must be called before {@link #onScrubStop(PreviewBar)}
+     */
+    public void cancelScrub() {
+        if (scrubbing) {
+            canceled = true;
+        }
+    }
+
+    @Override
+    public void onScrubStop(PreviewBar previewBar) {
+        if (!scrubbing) {
+            return;
+        }
+        scrubbing = false;
+        handler.removeCallbacks(seekRunnable);
+        seekScheduled = false;
+        hasPendingSeek = false;
+        // A cancelled scrub that didn't seek left the player where it was before scrubbing
+        final boolean seek = !canceled || lastSeekPosition != C.TIME_UNSET;
+        final long position = canceled ? scrubStartPosition : previewBar.getLongProgress();
+        if (player instanceof ExoPlayer) {
+            final ExoPlayer exoPlayer = (ExoPlayer) player;
+            if (seek) {
+                exoPlayer.setSeekParameters(SeekParameters.EXACT);
+                player.seekTo(position);
+            }
+            exoPlayer.setSeekParameters(previousSeekParameters);
+        } else if (seek) {
+            player.seekTo(position);
+        }
+    }
+
+    private void seekToPendingPosition() {
+        if (!hasPendingSeek) {
+            return;
+        }
+        hasPendingSeek = false;
+        if (lastSeekPosition != C.TIME_UNSET
+                && Math.abs(pendingSeekPosition - lastSeekPosition) < toleranceMs) {
+            return;
+        }
+        lastSeekPosition = pendingSeekPosition;
+        lastSeekTimeMs = SystemClock.uptimeMillis();
+        player.seekTo(pendingSeekPosition);
+    }
+
+}
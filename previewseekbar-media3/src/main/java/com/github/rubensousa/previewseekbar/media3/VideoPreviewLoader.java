@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.media3;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.TextureView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.PlaybackException;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.SeekParameters;
+
+import com.github.rubensousa.previewseekbar.AsyncPreviewLoader;
+import com.github.rubensousa.previewseekbar.PreviewBar;
+import com.github.rubensousa.previewseekbar.PreviewRequest;
+import com.github.rubensousa.previewseekbar.PreviewSizeListener;
+
+/**
+ * Displays real video frames as previews, using a second {@link ExoPlayer}
+ * that renders into a {@link TextureView} inside the preview frame.
+ * <p>
+ * The player buffers as little as possible, ignores audio and text,
+ * and seeks to the closest sync frame, which doesn't require decoding other frames.
+ * A request is only finished once its frame is rendered,
+ * so seeks never queue up faster than the decoder can handle them
+ * and the {@link PreviewBar} drops the positions superseded in the meantime.
+ * <p>
+ * The player is created when the preview is shown and released when it's hidden,
+ * so its decoder doesn't compete with the main playback.
+ * Use {@link #attach(PreviewBar)} to receive both the requests and the visibility changes.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public class VideoPreviewLoader implements AsyncPreviewLoader,
+        PreviewBar.OnPreviewVisibilityListener, PreviewSizeListener {
+
+    private static final int MIN_BUFFER_MS = 500;
+    private static final int MAX_BUFFER_MS = 1000;
+    private static final int BUFFER_FOR_PLAYBACK_MS = 250;
+    private static final long DEFAULT_SEEK_TIMEOUT_MS = 500;
+
+    private final Context context;
+    private final TextureView textureView;
+    private final Handler handler;
+    private final Player.Listener playerListener;
+    private final Runnable seekTimeoutRunnable;
+    @Nullable
+    private ExoPlayer player;
+    @Nullable
+    private MediaItem mediaItem;
+    @Nullable
+    private PreviewRequest currentRequest;
+    private long seekTimeoutMs = DEFAULT_SEEK_TIMEOUT_MS;
+    private int previewWidth = Integer.MAX_VALUE;
+    private int previewHeight = Integer.MAX_VALUE;
+
+    /**
+     * @param context     a context used to create the player
+     * @param textureView the view inside the preview frame that displays the video
+     */
+    public VideoPreviewLoader(@NonNull Context context, @NonNull TextureView textureView) {
+        this.context = context.getApplicationContext();
+        this.textureView = textureView;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.playerListener = new Player.Listener() {
+            @Override
+            public void onRenderedFirstFrame() {
+                finishCurrentRequest();
+            }
+
+            @Override
+            public void onPlayerError(@NonNull PlaybackException error) {
+                finishCurrentRequest();
+            }
+        };
+        this.seekTimeoutRunnable = new Runnable() {
+            @Override
+            public void run() {
+                finishCurrentRequest();
+            }
+        };
+    }
+
+    /**
+     * Sets this loader as the {@link AsyncPreviewLoader} of a {@link PreviewBar}
+     * and starts listening to the preview visibility
+     */
+    public void attach(@NonNull PreviewBar previewBar) {
+        previewBar.setAsyncPreviewLoader(this);
+        previewBar.addOnPreviewVisibilityListener(this);
+    }
+
+    /**
+     * Reverts {@link #attach(PreviewBar)} and releases the player
+     */
+    public void detach(@NonNull PreviewBar previewBar) {
+        previewBar.setAsyncPreviewLoader(null);
+        previewBar.removeOnPreviewVisibilityListener(this);
+        releasePlayer();
+    }
+
+    /**
+     * @param mediaItem the media displayed in the previews, or null to stop loading previews
+     */
+    public void setMediaItem(@Nullable MediaItem mediaItem) {
+        this.mediaItem = mediaItem;
+        if (player != null) {
+            if (mediaItem == null) {
+                releasePlayer();
+            } else {
+                player.setMediaItem(mediaItem);
+                player.prepare();
+            }
+        }
+    }
+
+    @Nullable
+    public MediaItem getMediaItem() {
+        return mediaItem;
+    }
+
+    /**
+     * Sets the maximum time to wait for a frame after a seek.
+     * Seeks that resolve to the frame already displayed don't render anything,
+     * so the request is finished after this timeout. Default is 500 ms
+     */
+    public void setSeekTimeoutMs(long seekTimeoutMs) {
+        this.seekTimeoutMs = seekTimeoutMs;
+    }
+
+    @Override
+    public void loadPreview(@NonNull PreviewRequest request) {
+        if (mediaItem == null) {
+            request.finish();
+            return;
+        }
+        // Only the latest position matters
+        finishCurrentRequest();
+        final ExoPlayer exoPlayer = getOrCreatePlayer();
+        currentRequest = request;
+        exoPlayer.seekTo(request.getPosition());
+        handler.postDelayed(seekTimeoutRunnable, seekTimeoutMs);
+    }
+
+    @Override
+    public void onVisibilityChanged(PreviewBar previewBar, boolean isPreviewShowing) {
+        if (isPreviewShowing) {
+            // Start buffering before the first request arrives
+            if (mediaItem != null) {
+                getOrCreatePlayer();
+            }
+        } else {
+            releasePlayer();
+        }
+    }
+
+    @Override
+    public void onPreviewSizeChanged(int width, int height) {
+        previewWidth = width;
+        previewHeight = height;
+        if (player != null) {
+            player.setTrackSelectionParameters(createTrackSelectionParameters(player));
+        }
+    }
+
+    /**
+     * Releases the player. A new one is created if another preview is requested
+     */
+    public void release() {
+        releasePlayer();
+    }
+
+    private ExoPlayer getOrCreatePlayer() {
+        if (player != null) {
+            return player;
+        }
+        final DefaultLoadControl loadControl = new DefaultLoadControl.Builder()
+                .setBufferDurationsMs(MIN_BUFFER_MS, MAX_BUFFER_MS,
+                        BUFFER_FOR_PLAYBACK_MS, BUFFER_FOR_PLAYBACK_MS)
+                .setPrioritizeTimeOverSizeThresholds(true)
+                .build();
+        final ExoPlayer exoPlayer = new ExoPlayer.Builder(context)
+                .setLoadControl(loadControl)
+                .setSeekParameters(SeekParameters.CLOSEST_SYNC)
+                .build();
+        exoPlayer.setTrackSelectionParameters(createTrackSelectionParameters(exoPlayer));
+        exoPlayer.setVolume(0f);
+        exoPlayer.setVideoTextureView(textureView);
+        exoPlayer.addListener(playerListener);
+        exoPlayer.setPlayWhenReady(false);
+        if (mediaItem != null) {
+            exoPlayer.setMediaItem(mediaItem);
+        }
+        exoPlayer.prepare();
+        player = exoPlayer;
+        return exoPlayer;
+    }
+
+    private TrackSelectionParameters createTrackSelectionParameters(ExoPlayer exoPlayer) {
+        return exoPlayer.getTrackSelectionParameters()
+                .buildUpon()
+                .setTrackTypeDisabled(C.TRACK_TYPE_AUDIO, true)
+                .setTrackTypeDisabled(C.TRACK_TYPE_TEXT, true)
+                .setMaxVideoSize(previewWidth, previewHeight)
+                .build();
+    }
+
+    private void releasePlayer() {
+        finishCurrentRequest();
+        if (player != null) {
+            player.removeListener(playerListener);
+            player.release();
+            player = null;
+        }
+    }
+
+    private void finishCurrentRequest() {
+        handler.removeCallbacks(seekTimeoutRunnable);
+        final PreviewRequest request = currentRequest;
+        if (request != null) {
+            currentRequest = null;
+            request.finish();
+        }
+    }
+
+}
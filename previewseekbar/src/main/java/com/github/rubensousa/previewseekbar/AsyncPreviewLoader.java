@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Loads the previews for a {@link PreviewBar} without blocking the main thread.
+ * <p>
+ * Unlike {@link PreviewLoader}, a {@link PreviewBar} only keeps one request in flight
+ * and one pending request with the latest position.
+ * Every position received while a request is in flight, except the latest one, is dropped.
+ */
+public interface AsyncPreviewLoader {
+
+    /**
+     * Called on the main thread when a new preview should be loaded.
+     * <p>
+     * Implementations must call {@link PreviewRequest#finish()} once the preview is displayed,
+     * or if it can't be loaded, otherwise no other preview will be requested.
+     * {@link PreviewRequest#isCancelled()} should be checked before doing expensive work.
+     *
+     * @param request the request with the position to load
+     */
+    void loadPreview(@NonNull PreviewRequest request);
+
+    /**
+     * Called on the main thread while a request is in flight,
+     * with the latest position that'll be requested once that request finishes.
+     * Loaders can use it to drop queued work that's too far from the latest position.
+     *
+     * @param position the latest position, between 0 and max
+     * @param max      the maximum possible position
+     */
+    default void onPendingPositionChanged(long position, long max) {
+
+    }
+
+}
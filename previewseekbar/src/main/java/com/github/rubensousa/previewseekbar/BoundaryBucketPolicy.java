@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PreviewBucketPolicy} for previews with variable durations.
+ * <p>
+ * The buckets are defined by the start positions of each preview,
+ * usually supplied by a thumbnail index. Lookups are done with a binary search.
+ */
+public class BoundaryBucketPolicy implements PreviewBucketPolicy {
+
+    private final long[] boundaries;
+
+    /**
+     * @param boundaries the start position of each preview, sorted in ascending order.
+     *                   The array is not copied, so it shouldn't be modified afterwards.
+     */
+    public BoundaryBucketPolicy(@NonNull long[] boundaries) {
+        this.boundaries = boundaries;
+    }
+
+    @Override
+    public long getBucket(long position, long max) {
+        final int index = Arrays.binarySearch(boundaries, position);
+        if (index >= 0) {
+            return index;
+        }
+        // Positions between two boundaries belong to the bucket of the lower boundary.
+        // Positions before the first boundary return -1
+        return -index - 2;
+    }
+
+}
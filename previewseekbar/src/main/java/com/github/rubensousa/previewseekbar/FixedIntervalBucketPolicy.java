@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+/**
+ * A {@link PreviewBucketPolicy} for previews that change every fixed interval,
+ * like sprite sheets where each thumbnail covers the same duration.
+ */
+public class FixedIntervalBucketPolicy implements PreviewBucketPolicy {
+
+    private final long interval;
+
+    /**
+     * @param interval the duration of each preview, in the same unit as the positions
+     */
+    public FixedIntervalBucketPolicy(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than 0");
+        }
+        this.interval = interval;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    @Override
+    public long getBucket(long position, long max) {
+        return position / interval;
+    }
+
+}
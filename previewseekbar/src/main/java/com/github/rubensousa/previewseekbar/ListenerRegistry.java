@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A copy-on-write list of listeners.
+ * <p>
+ * Adding or removing a listener replaces the backing array, so dispatching
+ * iterates over an immutable snapshot without allocating, and listeners
+ * can add or remove listeners from inside their callbacks.
+ * Listeners removed during a dispatch still receive that dispatch.
+ */
+final class ListenerRegistry<T> {
+
+    private T[] listeners;
+
+    /**
+     * @param emptyArray an empty array of the listener type, used as the initial snapshot
+     */
+    ListenerRegistry(@NonNull T[] emptyArray) {
+        this.listeners = emptyArray;
+    }
+
+    /**
+     * Adds a listener, unless it was already added
+     */
+    void add(@NonNull T listener) {
+        final T[] current = listeners;
+        if (indexOf(current, listener) != -1) {
+            return;
+        }
+        final T[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    void remove(@NonNull T listener) {
+        final T[] current = listeners;
+        final int index = indexOf(current, listener);
+        if (index == -1) {
+            return;
+        }
+        final T[] updated = Arrays.copyOf(current, current.length - 1);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        listeners = updated;
+    }
+
+    /**
+     * @return the current listeners. The array must not be modified
+     */
+    @NonNull
+    T[] getSnapshot() {
+        return listeners;
+    }
+
+    private static int indexOf(Object[] array, Object listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == listener || (listener != null && listener.equals(array[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
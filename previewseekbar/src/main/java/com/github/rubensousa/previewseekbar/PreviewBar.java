@@ -43,6 +43,23 @@ public interface PreviewBar {
      */
     int getMax();
 
+    /**
+     * @return the current progress, without the limits of an int,
+     * like positions of long live streams in milliseconds.
+     * Defaults to {@link #getProgress()}
+     */
+    default long getLongProgress() {
+        return getProgress();
+    }
+
+    /**
+     * @return the maximum value that the progress can have, without the limits of an int.
+     * Defaults to {@link #getMax()}
+     */
+    default long getLongMax() {
+        return getMax();
+    }
+
     /**
      * @return the radius of the draggable thumb of this Bar
      */
@@ -70,6 +87,7 @@ public interface PreviewBar {
 
     /**
      * Starts displaying the preview above this bar
+     * and loads the preview of the current progress
      */
     void showPreview();
 
@@ -102,6 +120,53 @@ public interface PreviewBar {
      */
     void setPreviewLoader(@Nullable PreviewLoader previewLoader);
 
+    /**
+     * Sets an {@link AsyncPreviewLoader} that'll load previews off the main thread.
+     * Only the latest position is loaded after the request in flight finishes.
+     * Ignored by default, for implementations that don't support asynchronous loaders.
+     *
+     * @param previewLoader an AsyncPreviewLoader that'll display previews
+     *                      or null to clear the current one
+     */
+    default void setAsyncPreviewLoader(@Nullable AsyncPreviewLoader previewLoader) {
+
+    }
+
+    /**
+     * Sets a {@link PreviewBucketPolicy} that groups positions displaying the same preview.
+     * The preview loaders are then only called when the position moves to a different bucket.
+     * Ignored by default, for implementations that don't support bucket policies.
+     *
+     * @param bucketPolicy the policy to use or null to load a preview on every position change
+     */
+    default void setPreviewBucketPolicy(@Nullable PreviewBucketPolicy bucketPolicy) {
+
+    }
+
+    /**
+     * When enabled, scrub movements are applied at most once per display frame,
+     * using only the latest position received during that frame.
+     * Useful for touch screens that report several positions per frame.
+     * Ignored by default, for implementations that don't support it.
+     *
+     * @param enabled true to coalesce scrub movements per frame. Default is false
+     */
+    default void setPreviewFrameCoalescingEnabled(boolean enabled) {
+
+    }
+
+    /**
+     * Collects {@link ScrubMetrics} for every scrub session.
+     * No timing data is collected while no listener is set.
+     * Ignored by default, for implementations that don't collect metrics.
+     *
+     * @param listener the listener that receives the metrics of each session,
+     *                 or null to stop collecting them
+     */
+    default void setOnScrubMetricsListener(@Nullable OnScrubMetricsListener listener) {
+
+    }
+
     /**
      * @param color the color for the thumb that displays the current progress
      */
@@ -169,5 +234,19 @@ public interface PreviewBar {
         void onVisibilityChanged(PreviewBar previewBar, boolean isPreviewShowing);
     }
 
+    /**
+     * Listener for the performance metrics of each scrub session
+     */
+    interface OnScrubMetricsListener {
+
+        /**
+         * Is called on the main thread after the user stopped scrubbing
+         *
+         * @param previewBar the PreviewBar that was scrubbed
+         * @param metrics    the metrics collected during the scrub session
+         */
+        void onScrubMetrics(PreviewBar previewBar, ScrubMetrics metrics);
+    }
+
 
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+/**
+ * Groups positions of a {@link PreviewBar} into buckets that share the same preview.
+ * <p>
+ * When a policy is set, the preview loaders are only called
+ * when the position moves into a different bucket.
+ * <p>
+ * Default implementations: {@link FixedIntervalBucketPolicy} and {@link BoundaryBucketPolicy}
+ */
+public interface PreviewBucketPolicy {
+
+    /**
+     * @param position the current position, between 0 and max
+     * @param max      the maximum possible value
+     * @return an identifier of the bucket that contains this position.
+     * Two positions that display the same preview must return the same bucket.
+     */
+    long getBucket(long position, long max);
+
+}
@@ -17,6 +17,7 @@
 package com.github.rubensousa.previewseekbar;
 
 import android.os.Build;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
@@ -28,9 +29,6 @@ import com.github.rubensousa.previewseekbar.animator.PreviewAnimator;
 import com.github.rubensousa.previewseekbar.animator.PreviewFadeAnimator;
 import com.github.rubensousa.previewseekbar.animator.PreviewMorphAnimator;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Handles the logic to display and animate a preview view when a {@link PreviewBar} is scrubbed
  */
@@ -38,10 +36,13 @@ public class PreviewDelegate {
 
     private FrameLayout previewView;
     private PreviewLoader previewLoader;
+    private PreviewRequestDispatcher requestDispatcher;
+    @Nullable
+    private PreviewBucketPolicy bucketPolicy;
     private PreviewAnimator animator;
     private PreviewBar previewBar;
-    private List<PreviewBar.OnScrubListener> scrubListeners;
-    private List<PreviewBar.OnPreviewVisibilityListener> visibilityListeners;
+    private final ListenerRegistry<PreviewBar.OnScrubListener> scrubListeners;
+    private final ListenerRegistry<PreviewBar.OnPreviewVisibilityListener> visibilityListeners;
 
     private boolean showingPreview;
     private boolean previewViewAttached;
@@ -55,14 +56,68 @@ public class PreviewDelegate {
      * to avoid detecting clicks as scrub movements
      */
     private boolean isUserScrubbing;
+    /**
+     * The bucket and max of the last position sent to the loaders.
+     * Only used if a {@link PreviewBucketPolicy} is set
+     */
+    private boolean hasRequestedBucket;
+    private long lastRequestedBucket;
+    private long lastRequestedMax;
+    private final View.OnLayoutChangeListener previewLayoutListener;
+    private int previewWidth;
+    private int previewHeight;
+    /**
+     * The geometry used to position the preview view,
+     * cached until the bar, the preview view or its parent are laid out again
+     */
+    private boolean geometryValid;
+    @Nullable
+    private ViewGroup previewParent;
+    private int minimumX;
+    private int maximumX;
+    private int previewViewWidth;
+    private int barLeft;
+    private int barRight;
+    /**
+     * The latest scrub movement waiting for the next frame.
+     * Only used if frame coalescing is enabled
+     */
+    private final Choreographer.FrameCallback scrubFrameCallback;
+    private boolean frameCoalescingEnabled;
+    private boolean hasPendingScrubMove;
+    private long pendingProgress;
+    private long pendingMax;
+    private boolean pendingFromUser;
+    /**
+     * Collects the metrics of the current scrub session.
+     * Null unless a metrics listener is set
+     */
+    @Nullable
+    private ScrubMetricsCollector metricsCollector;
 
     public PreviewDelegate(PreviewBar previewBar) {
-        this.scrubListeners = new ArrayList<>();
-        this.visibilityListeners = new ArrayList<>();
+        this.scrubListeners = new ListenerRegistry<>(new PreviewBar.OnScrubListener[0]);
+        this.visibilityListeners = new ListenerRegistry<>(
+                new PreviewBar.OnPreviewVisibilityListener[0]);
+        this.requestDispatcher = new PreviewRequestDispatcher();
         this.previewBar = previewBar;
         this.animationEnabled = true;
         this.previewAutoHide = true;
         animator = new PreviewMorphAnimator();
+        previewLayoutListener = new View.OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                                       int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                geometryValid = false;
+                updatePreviewSize();
+            }
+        };
+        scrubFrameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                applyPendingScrubMove();
+            }
+        };
     }
 
     @Nullable
@@ -80,64 +135,191 @@ public class PreviewDelegate {
     }
 
     public void onScrubStart() {
-        for (PreviewBar.OnScrubListener listener : scrubListeners) {
-            listener.onScrubStart(previewBar);
+        if (metricsCollector != null) {
+            metricsCollector.start((View) previewBar);
+        }
+        final PreviewBar.OnScrubListener[] listeners = scrubListeners.getSnapshot();
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onScrubStart(previewBar);
         }
     }
 
     public void onScrubMove(int progress, boolean fromUser) {
+        onScrubMove(progress, previewBar.getLongMax(), fromUser);
+    }
+
+    /**
+     * Same as {@link #onScrubMove(int, boolean)}, for bars whose progress doesn't fit in an int
+     */
+    public void onScrubMove(long progress, long max, boolean fromUser) {
+        final ScrubMetricsCollector collector = getActiveMetricsCollector();
+        if (collector != null) {
+            collector.onScrubEvent();
+        }
+        if (!frameCoalescingEnabled) {
+            applyScrubMove(progress, max, fromUser);
+            return;
+        }
+        pendingProgress = progress;
+        pendingMax = max;
+        // A frame with any user movement is handled as a user movement
+        pendingFromUser = hasPendingScrubMove ? pendingFromUser || fromUser : fromUser;
+        if (!hasPendingScrubMove) {
+            hasPendingScrubMove = true;
+            Choreographer.getInstance().postFrameCallback(scrubFrameCallback);
+        }
+    }
+
+    private void applyScrubMove(long progress, long max, boolean fromUser) {
+        final ScrubMetricsCollector collector = getActiveMetricsCollector();
+        if (collector == null) {
+            performScrubMove(progress, max, fromUser);
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        performScrubMove(progress, max, fromUser);
+        collector.onScrubMoveApplied(System.nanoTime() - startNanos);
+    }
+
+    private void performScrubMove(long progress, long max, boolean fromUser) {
         if (!previewViewAttached) {
             return;
         }
 
-        final int targetX = updatePreviewX(progress, previewBar.getMax());
+        final int targetX = updatePreviewX(progress, max);
         previewView.setX(targetX);
 
         if (animationEnabled) {
+            final ScrubMetricsCollector collector = getActiveMetricsCollector();
+            final long startNanos = collector != null ? System.nanoTime() : 0;
             animator.move(previewView, previewBar);
+            if (collector != null) {
+                collector.onMoveAnimator(System.nanoTime() - startNanos);
+            }
         }
 
         if (!isUserScrubbing && fromUser && previewEnabled) {
             isUserScrubbing = true;
-            show();
+            showPreviewView();
         }
 
-        for (PreviewBar.OnScrubListener listener : scrubListeners) {
-            listener.onScrubMove(previewBar, progress, fromUser);
+        dispatchScrubMove(progress, fromUser);
+
+        if (showingPreview) {
+            loadPreview(progress, max);
         }
+    }
 
-        if (previewLoader != null && showingPreview) {
-            previewLoader.loadPreview(progress, previewBar.getMax());
+    private void dispatchScrubMove(long progress, boolean fromUser) {
+        // Listeners receive an int, so long positions are saturated
+        final int listenerProgress = (int) Math.max(Integer.MIN_VALUE,
+                Math.min(Integer.MAX_VALUE, progress));
+        final PreviewBar.OnScrubListener[] listeners = scrubListeners.getSnapshot();
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onScrubMove(previewBar, listenerProgress, fromUser);
         }
     }
 
+    /**
+     * Shows the preview view and loads the preview of the current position
+     */
     public void show() {
+        if (showPreviewView()) {
+            final long max = previewBar.getLongMax();
+            if (max > 0) {
+                loadPreview(previewBar.getLongProgress(), max);
+            }
+        }
+    }
+
+    /**
+     * @return true if the preview view wasn't showing before
+     */
+    private boolean showPreviewView() {
         if (!showingPreview && previewViewAttached && previewEnabled) {
             if (animationEnabled) {
+                final ScrubMetricsCollector collector = getActiveMetricsCollector();
+                final long startNanos = collector != null ? System.nanoTime() : 0;
                 animator.show(previewView, previewBar);
+                if (collector != null) {
+                    collector.onShowAnimator(System.nanoTime() - startNanos);
+                }
             } else {
                 animator.cancel(previewView, previewBar);
                 previewView.setVisibility(View.VISIBLE);
             }
             showingPreview = true;
-            for (PreviewBar.OnPreviewVisibilityListener listener : visibilityListeners) {
-                listener.onVisibilityChanged(previewBar, true);
+            final PreviewBar.OnPreviewVisibilityListener[] listeners
+                    = visibilityListeners.getSnapshot();
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i].onVisibilityChanged(previewBar, true);
             }
+            return true;
         }
+        return false;
     }
 
     public void onScrubStop() {
+        // The last position must be applied before stopping
+        applyPendingScrubMove();
         isUserScrubbing = false;
         if (previewAutoHide) {
             hide();
         }
-        for (PreviewBar.OnScrubListener listener : scrubListeners) {
-            listener.onScrubStop(previewBar);
+        final PreviewBar.OnScrubListener[] listeners = scrubListeners.getSnapshot();
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onScrubStop(previewBar);
+        }
+        if (metricsCollector != null) {
+            metricsCollector.finish(previewBar);
         }
     }
 
     public void setPreviewLoader(@Nullable PreviewLoader previewLoader) {
         this.previewLoader = previewLoader;
+        hasRequestedBucket = false;
+        dispatchPreviewSize(previewLoader);
+    }
+
+    /**
+     * Sets a loader that loads previews asynchronously.
+     * Any request in flight for the previous loader is cancelled.
+     */
+    public void setAsyncPreviewLoader(@Nullable AsyncPreviewLoader previewLoader) {
+        requestDispatcher.setLoader(previewLoader);
+        hasRequestedBucket = false;
+        dispatchPreviewSize(previewLoader);
+    }
+
+    /**
+     * @param bucketPolicy a policy that groups positions that share the same preview,
+     *                     or null to load a preview for every position change
+     */
+    public void setBucketPolicy(@Nullable PreviewBucketPolicy bucketPolicy) {
+        this.bucketPolicy = bucketPolicy;
+        hasRequestedBucket = false;
+    }
+
+    /**
+     * @param enabled true to apply scrub movements at most once per frame,
+     *                with the latest position received during that frame
+     */
+    public void setFrameCoalescingEnabled(boolean enabled) {
+        if (!enabled) {
+            applyPendingScrubMove();
+        }
+        this.frameCoalescingEnabled = enabled;
+    }
+
+    /**
+     * @param listener the listener that receives the metrics of each scrub session,
+     *                 or null to stop collecting them
+     */
+    public void setOnScrubMetricsListener(@Nullable PreviewBar.OnScrubMetricsListener listener) {
+        if (metricsCollector != null) {
+            metricsCollector.cancel();
+        }
+        metricsCollector = listener != null ? new ScrubMetricsCollector(listener) : null;
     }
 
     public void setAnimator(@NonNull PreviewAnimator animator) {
@@ -156,16 +338,30 @@ public class PreviewDelegate {
      * Hides the preview view
      */
     public void hide() {
+        // A coalesced move must not move the preview or load another one after hiding it,
+        // but the listeners still need the last position, like the one to seek to
+        if (cancelPendingScrubMove() && previewViewAttached) {
+            dispatchScrubMove(pendingProgress, pendingFromUser);
+        }
         if (showingPreview && previewViewAttached) {
             if (animationEnabled) {
+                final ScrubMetricsCollector collector = getActiveMetricsCollector();
+                final long startNanos = collector != null ? System.nanoTime() : 0;
                 animator.hide(previewView, previewBar);
+                if (collector != null) {
+                    collector.onHideAnimator(System.nanoTime() - startNanos);
+                }
             } else {
                 animator.cancel(previewView, previewBar);
                 previewView.setVisibility(View.INVISIBLE);
             }
             showingPreview = false;
-            for (PreviewBar.OnPreviewVisibilityListener listener : visibilityListeners) {
-                listener.onVisibilityChanged(previewBar, false);
+            hasRequestedBucket = false;
+            requestDispatcher.cancel();
+            final PreviewBar.OnPreviewVisibilityListener[] listeners
+                    = visibilityListeners.getSnapshot();
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i].onVisibilityChanged(previewBar, false);
             }
         }
     }
@@ -183,9 +379,40 @@ public class PreviewDelegate {
     }
 
     public void attachPreviewView(@NonNull FrameLayout previewView) {
+        if (this.previewView != null) {
+            this.previewView.removeOnLayoutChangeListener(previewLayoutListener);
+        }
+        if (previewParent != null) {
+            previewParent.removeOnLayoutChangeListener(previewLayoutListener);
+        }
+        ((View) previewBar).removeOnLayoutChangeListener(previewLayoutListener);
         this.previewView = previewView;
         this.previewView.setVisibility(View.INVISIBLE);
+        this.previewView.addOnLayoutChangeListener(previewLayoutListener);
+        previewParent = (ViewGroup) previewView.getParent();
+        if (previewParent != null) {
+            previewParent.addOnLayoutChangeListener(previewLayoutListener);
+        }
+        ((View) previewBar).addOnLayoutChangeListener(previewLayoutListener);
         previewViewAttached = true;
+        geometryValid = false;
+        updatePreviewSize();
+    }
+
+    /**
+     * @return the width of the attached preview view, excluding its padding,
+     * or 0 if it wasn't laid out yet
+     */
+    public int getPreviewWidth() {
+        return previewWidth;
+    }
+
+    /**
+     * @return the height of the attached preview view, excluding its padding,
+     * or 0 if it wasn't laid out yet
+     */
+    public int getPreviewHeight() {
+        return previewHeight;
     }
 
     public boolean isPreviewViewAttached() {
@@ -197,18 +424,23 @@ public class PreviewDelegate {
     }
 
     public void updateProgress(int progress, int max) {
+        updateProgress((long) progress, (long) max);
+    }
+
+    /**
+     * Same as {@link #updateProgress(int, int)}, for bars whose progress doesn't fit in an int
+     */
+    public void updateProgress(long progress, long max) {
         // This is a manual update, so check if the user isn't currently scrubbing
         // to avoid inconsistencies between the current scrubbed position
         // and the real position of the preview
         if (isShowingPreview() && !isUserScrubbing()) {
-            onScrubMove(progress, false);
+            onScrubMove(progress, max, false);
         }
     }
 
     public void addOnScrubListener(PreviewBar.OnScrubListener listener) {
-        if (!scrubListeners.contains(listener)) {
-            scrubListeners.add(listener);
-        }
+        scrubListeners.add(listener);
     }
 
     public void removeOnScrubListener(PreviewBar.OnScrubListener listener) {
@@ -216,9 +448,76 @@ public class PreviewDelegate {
     }
 
     public void addOnPreviewVisibilityListener(PreviewBar.OnPreviewVisibilityListener listener) {
-        if (!visibilityListeners.contains(listener)) {
-            visibilityListeners.add(listener);
+        visibilityListeners.add(listener);
+    }
+
+    @Nullable
+    private ScrubMetricsCollector getActiveMetricsCollector() {
+        if (metricsCollector != null && metricsCollector.isActive()) {
+            return metricsCollector;
+        }
+        return null;
+    }
+
+    private void applyPendingScrubMove() {
+        if (cancelPendingScrubMove()) {
+            applyScrubMove(pendingProgress, pendingMax, pendingFromUser);
+        }
+    }
+
+    /**
+     * @return true if there was a pending scrub move
+     */
+    private boolean cancelPendingScrubMove() {
+        if (!hasPendingScrubMove) {
+            return false;
+        }
+        hasPendingScrubMove = false;
+        Choreographer.getInstance().removeFrameCallback(scrubFrameCallback);
+        return true;
+    }
+
+    /**
+     * Notifies the loaders if the size available for the previews changed
+     */
+    private void updatePreviewSize() {
+        final int width = Math.max(0, previewView.getWidth()
+                - previewView.getPaddingLeft() - previewView.getPaddingRight());
+        final int height = Math.max(0, previewView.getHeight()
+                - previewView.getPaddingTop() - previewView.getPaddingBottom());
+        if (width == previewWidth && height == previewHeight) {
+            return;
         }
+        previewWidth = width;
+        previewHeight = height;
+        dispatchPreviewSize(previewLoader);
+        dispatchPreviewSize(requestDispatcher.getLoader());
+    }
+
+    private void dispatchPreviewSize(@Nullable Object loader) {
+        if (loader instanceof PreviewSizeListener && previewWidth > 0 && previewHeight > 0) {
+            ((PreviewSizeListener) loader).onPreviewSizeChanged(previewWidth, previewHeight);
+        }
+    }
+
+    /**
+     * Sends the position to the loaders,
+     * unless it belongs to the same bucket of the previous request
+     */
+    private void loadPreview(long progress, long max) {
+        if (bucketPolicy != null) {
+            final long bucket = bucketPolicy.getBucket(progress, max);
+            if (hasRequestedBucket && bucket == lastRequestedBucket && max == lastRequestedMax) {
+                return;
+            }
+            hasRequestedBucket = true;
+            lastRequestedBucket = bucket;
+            lastRequestedMax = max;
+        }
+        if (previewLoader != null) {
+            previewLoader.loadPreview(progress, max);
+        }
+        requestDispatcher.request(progress, max);
     }
 
     /**
@@ -226,44 +525,64 @@ public class PreviewDelegate {
      * that'll make the frame not move until the scrub position exceeds
      * at least half of the frame's width.
      */
-    private int updatePreviewX(int progress, int max) {
-        if (max == 0) {
+    private int updatePreviewX(long progress, long max) {
+        if (max <= 0) {
             return 0;
         }
 
-        final ViewGroup parent = (ViewGroup) previewView.getParent();
-        final ViewGroup.MarginLayoutParams layoutParams
-                = (ViewGroup.MarginLayoutParams) previewView.getLayoutParams();
-
-        float offset = (float) progress / max;
-
-        int minimumX = previewView.getLeft();
-        int maximumX = parent.getWidth()
-                - parent.getPaddingRight()
-                - layoutParams.rightMargin;
+        if (!geometryValid) {
+            updateGeometry();
+        }
 
-        float previewPadding = previewBar.getThumbOffset();
-        float previewLeftX = ((View) previewBar).getLeft();
-        float previewRightX = ((View) previewBar).getRight();
-        float previewSeekBarStartX = previewLeftX + previewPadding;
-        float previewSeekBarEndX = previewRightX - previewPadding;
+        final int previewPadding = previewBar.getThumbOffset();
+        final int previewSeekBarStartX = barLeft + previewPadding;
+        final int previewSeekBarEndX = barRight - previewPadding;
 
-        float currentX = previewSeekBarStartX
-                + (previewSeekBarEndX - previewSeekBarStartX) * offset;
+        final int currentX = previewSeekBarStartX
+                + mapToPixels(progress, max, previewSeekBarEndX - previewSeekBarStartX);
 
-        float startX = currentX - previewView.getWidth() / 2f;
-        float endX = startX + previewView.getWidth();
+        final int startX = currentX - previewViewWidth / 2;
+        final int endX = startX + previewViewWidth;
 
         // Clamp the moves
         if (startX >= minimumX && endX <= maximumX) {
-            return (int) startX;
+            return startX;
         } else if (startX < minimumX) {
             return minimumX;
         } else {
-            return maximumX - previewView.getWidth();
+            return maximumX - previewViewWidth;
         }
     }
 
+    /**
+     * Maps a progress to an offset in pixels with integer math, so long timelines
+     * don't lose precision like a float ratio would.
+     * The division is split so that progress * width doesn't overflow.
+     */
+    private static int mapToPixels(long progress, long max, int width) {
+        final long clampedProgress = Math.max(0, Math.min(progress, max));
+        return (int) ((clampedProgress / max) * width
+                + (clampedProgress % max) * width / max);
+    }
+
+    /**
+     * Reads the bounds that don't change between layouts,
+     * so that scrubbing doesn't query the view hierarchy on every move
+     */
+    private void updateGeometry() {
+        final ViewGroup parent = (ViewGroup) previewView.getParent();
+        final ViewGroup.MarginLayoutParams layoutParams
+                = (ViewGroup.MarginLayoutParams) previewView.getLayoutParams();
+        minimumX = previewView.getLeft();
+        maximumX = parent.getWidth()
+                - parent.getPaddingRight()
+                - layoutParams.rightMargin;
+        previewViewWidth = previewView.getWidth();
+        barLeft = ((View) previewBar).getLeft();
+        barRight = ((View) previewBar).getRight();
+        geometryValid = true;
+    }
+
     public void removeOnPreviewVisibilityListener(PreviewBar.OnPreviewVisibilityListener listener) {
         visibilityListeners.remove(listener);
     }
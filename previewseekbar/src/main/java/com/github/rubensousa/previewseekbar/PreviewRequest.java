@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A handle for a single preview load started by an {@link AsyncPreviewLoader}.
+ * <p>
+ * The loader must call {@link #finish()} once the preview is displayed or the load failed,
+ * from any thread. A request can be cancelled at any time when its position is no longer needed.
+ */
+public final class PreviewRequest {
+
+    private final long position;
+    private final long max;
+    @Nullable
+    private final Callback callback;
+    @Nullable
+    private OnCancelListener cancelListener;
+    private boolean cancelled;
+    private boolean finished;
+
+    public PreviewRequest(long position, long max, @Nullable Callback callback) {
+        this.position = position;
+        this.max = max;
+        this.callback = callback;
+    }
+
+    /**
+     * @return the position that should be previewed, between 0 and {@link #getMax()}
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the maximum possible position
+     */
+    public long getMax() {
+        return max;
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @param listener a listener that's notified when this request is cancelled.
+     *                 If the request was already cancelled, it's notified immediately.
+     */
+    public void setOnCancelListener(@Nullable OnCancelListener listener) {
+        final boolean notify;
+        synchronized (this) {
+            cancelListener = listener;
+            notify = cancelled;
+        }
+        if (notify && listener != null) {
+            listener.onCancel(this);
+        }
+    }
+
+    /**
+     * Cancels this request. The loader should stop any pending work as soon as possible.
+     * Calling this after the request is finished has no effect.
+     */
+    public void cancel() {
+        final OnCancelListener listener;
+        synchronized (this) {
+            if (cancelled || finished) {
+                return;
+            }
+            cancelled = true;
+            listener = cancelListener;
+        }
+        if (listener != null) {
+            listener.onCancel(this);
+        }
+        finish();
+    }
+
+    /**
+     * Marks this request as finished. Only the first call has any effect.
+     */
+    public void finish() {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+        }
+        if (callback != null) {
+            callback.onPreviewRequestFinished(this);
+        }
+    }
+
+    /**
+     * Notified when a request finishes, either normally or by being cancelled.
+     * This can be called from any thread.
+     */
+    public interface Callback {
+        void onPreviewRequestFinished(@NonNull PreviewRequest request);
+    }
+
+    public interface OnCancelListener {
+        void onCancel(@NonNull PreviewRequest request);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Sends requests to an {@link AsyncPreviewLoader} keeping at most one request in flight
+ * and one pending request. Pending positions are overwritten, so only the latest one is loaded.
+ * <p>
+ * All methods, except {@link #onPreviewRequestFinished(PreviewRequest)},
+ * must be called from the main thread.
+ */
+final class PreviewRequestDispatcher implements PreviewRequest.Callback {
+
+    private final Handler handler;
+    @Nullable
+    private AsyncPreviewLoader loader;
+    @Nullable
+    private PreviewRequest inFlightRequest;
+    private boolean hasPendingRequest;
+    private long pendingPosition;
+    private long pendingMax;
+
+    PreviewRequestDispatcher() {
+        handler = new Handler(Looper.getMainLooper());
+    }
+
+    void setLoader(@Nullable AsyncPreviewLoader loader) {
+        cancel();
+        this.loader = loader;
+    }
+
+    @Nullable
+    AsyncPreviewLoader getLoader() {
+        return loader;
+    }
+
+    void request(long position, long max) {
+        if (loader == null) {
+            return;
+        }
+        if (inFlightRequest != null) {
+            pendingPosition = position;
+            pendingMax = max;
+            hasPendingRequest = true;
+            loader.onPendingPositionChanged(position, max);
+            return;
+        }
+        start(position, max);
+    }
+
+    /**
+     * Cancels the request in flight and drops the pending one
+     */
+    void cancel() {
+        hasPendingRequest = false;
+        final PreviewRequest request = inFlightRequest;
+        if (request != null) {
+            inFlightRequest = null;
+            request.cancel();
+        }
+    }
+
+    @Override
+    public void onPreviewRequestFinished(@NonNull final PreviewRequest request) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            onRequestFinished(request);
+        } else {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    onRequestFinished(request);
+                }
+            });
+        }
+    }
+
+    private void onRequestFinished(PreviewRequest request) {
+        // Ignore requests that were already replaced or cancelled
+        if (request != inFlightRequest) {
+            return;
+        }
+        inFlightRequest = null;
+        if (hasPendingRequest) {
+            hasPendingRequest = false;
+            start(pendingPosition, pendingMax);
+        }
+    }
+
+    private void start(long position, long max) {
+        if (loader == null) {
+            return;
+        }
+        final PreviewRequest request = new PreviewRequest(position, max, this);
+        inFlightRequest = request;
+        loader.loadPreview(request);
+    }
+
+}
@@ -12,6 +12,7 @@ import android.widget.SeekBar;
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.widget.AppCompatSeekBar;
 import androidx.core.content.ContextCompat;
 import androidx.core.graphics.drawable.DrawableCompat;
@@ -109,6 +110,16 @@ public class PreviewSeekBar extends AppCompatSeekBar implements PreviewBar {
         }
     }
 
+    @Override
+    public long getLongProgress() {
+        return getProgress();
+    }
+
+    @Override
+    public long getLongMax() {
+        return getMax();
+    }
+
     @Override
     public synchronized void setMax(int max) {
         super.setMax(max);
@@ -181,10 +192,30 @@ public class PreviewSeekBar extends AppCompatSeekBar implements PreviewBar {
     }
 
     @Override
-    public void setPreviewLoader(PreviewLoader previewLoader) {
+    public void setPreviewLoader(@Nullable PreviewLoader previewLoader) {
         delegate.setPreviewLoader(previewLoader);
     }
 
+    @Override
+    public void setAsyncPreviewLoader(@Nullable AsyncPreviewLoader previewLoader) {
+        delegate.setAsyncPreviewLoader(previewLoader);
+    }
+
+    @Override
+    public void setPreviewBucketPolicy(@Nullable PreviewBucketPolicy bucketPolicy) {
+        delegate.setBucketPolicy(bucketPolicy);
+    }
+
+    @Override
+    public void setPreviewFrameCoalescingEnabled(boolean enabled) {
+        delegate.setFrameCoalescingEnabled(enabled);
+    }
+
+    @Override
+    public void setOnScrubMetricsListener(@Nullable OnScrubMetricsListener listener) {
+        delegate.setOnScrubMetricsListener(listener);
+    }
+
     @Override
     public void addOnScrubListener(PreviewBar.OnScrubListener listener) {
         delegate.addOnScrubListener(listener);
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+/**
+ * Implemented by a {@link PreviewLoader} or {@link AsyncPreviewLoader}
+ * that wants to know the size available for the previews, for example to avoid decoding
+ * thumbnails bigger than what's displayed.
+ * <p>
+ * The {@link PreviewBar} notifies its loaders once the preview view is laid out
+ * and every time its size changes, like after a rotation.
+ */
+public interface PreviewSizeListener {
+
+    /**
+     * Called on the main thread with the size of the preview view,
+     * excluding its padding, in pixels
+     */
+    void onPreviewSizeChanged(int width, int height);
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Timing data collected for a single scrub session,
+ * from {@link PreviewBar.OnScrubListener#onScrubStart(PreviewBar)}
+ * to {@link PreviewBar.OnScrubListener#onScrubStop(PreviewBar)}.
+ * <p>
+ * All durations are in nanoseconds and measured on the main thread.
+ * The animator times only include the time spent inside the {@link
+ * com.github.rubensousa.previewseekbar.animator.PreviewAnimator} calls,
+ * not the animations running afterwards.
+ */
+public final class ScrubMetrics {
+
+    private final long sessionDurationNanos;
+    private final int scrubEventCount;
+    private final int appliedScrubMoveCount;
+    private final long scrubMoveTimeNanos;
+    private final long maxScrubMoveTimeNanos;
+    private final int frameCount;
+    private final int lateFrameCount;
+    private final int droppedFrameCount;
+    private final long showAnimatorTimeNanos;
+    private final long moveAnimatorTimeNanos;
+    private final long hideAnimatorTimeNanos;
+
+    ScrubMetrics(long sessionDurationNanos,
+                 int scrubEventCount,
+                 int appliedScrubMoveCount,
+                 long scrubMoveTimeNanos,
+                 long maxScrubMoveTimeNanos,
+                 int frameCount,
+                 int lateFrameCount,
+                 int droppedFrameCount,
+                 long showAnimatorTimeNanos,
+                 long moveAnimatorTimeNanos,
+                 long hideAnimatorTimeNanos) {
+        this.sessionDurationNanos = sessionDurationNanos;
+        this.scrubEventCount = scrubEventCount;
+        this.appliedScrubMoveCount = appliedScrubMoveCount;
+        this.scrubMoveTimeNanos = scrubMoveTimeNanos;
+        this.maxScrubMoveTimeNanos = maxScrubMoveTimeNanos;
+        this.frameCount = frameCount;
+        this.lateFrameCount = lateFrameCount;
+        this.droppedFrameCount = droppedFrameCount;
+        this.showAnimatorTimeNanos = showAnimatorTimeNanos;
+        this.moveAnimatorTimeNanos = moveAnimatorTimeNanos;
+        this.hideAnimatorTimeNanos = hideAnimatorTimeNanos;
+    }
+
+    /**
+     * @return the time between the start and the end of the scrub session
+     */
+    public long getSessionDurationNanos() {
+        return sessionDurationNanos;
+    }
+
+    /**
+     * @return the number of scrub movements received from the bar
+     */
+    public int getScrubEventCount() {
+        return scrubEventCount;
+    }
+
+    /**
+     * @return the number of scrub movements that were applied to the preview.
+     * Lower than {@link #getScrubEventCount()} if frame coalescing is enabled
+     */
+    public int getAppliedScrubMoveCount() {
+        return appliedScrubMoveCount;
+    }
+
+    /**
+     * @return the total time spent applying scrub movements,
+     * including the scrub listeners and the preview loaders
+     */
+    public long getScrubMoveTimeNanos() {
+        return scrubMoveTimeNanos;
+    }
+
+    /**
+     * @return the longest time spent applying a single scrub movement
+     */
+    public long getMaxScrubMoveTimeNanos() {
+        return maxScrubMoveTimeNanos;
+    }
+
+    /**
+     * @return the number of frames drawn during the session
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of frames that started later than expected by the display refresh rate
+     */
+    public int getLateFrameCount() {
+        return lateFrameCount;
+    }
+
+    /**
+     * @return the number of frames that were skipped by the late frames
+     */
+    public int getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * @return the time spent in {@link
+     * com.github.rubensousa.previewseekbar.animator.PreviewAnimator#show} during the session
+     */
+    public long getShowAnimatorTimeNanos() {
+        return showAnimatorTimeNanos;
+    }
+
+    /**
+     * @return the time spent in {@link
+     * com.github.rubensousa.previewseekbar.animator.PreviewAnimator#move} during the session
+     */
+    public long getMoveAnimatorTimeNanos() {
+        return moveAnimatorTimeNanos;
+    }
+
+    /**
+     * @return the time spent in {@link
+     * com.github.rubensousa.previewseekbar.animator.PreviewAnimator#hide} during the session
+     */
+    public long getHideAnimatorTimeNanos() {
+        return hideAnimatorTimeNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ScrubMetrics{"
+                + "sessionDurationNanos=" + sessionDurationNanos
+                + ", scrubEventCount=" + scrubEventCount
+                + ", appliedScrubMoveCount=" + appliedScrubMoveCount
+                + ", scrubMoveTimeNanos=" + scrubMoveTimeNanos
+                + ", maxScrubMoveTimeNanos=" + maxScrubMoveTimeNanos
+                + ", frameCount=" + frameCount
+                + ", lateFrameCount=" + lateFrameCount
+                + ", droppedFrameCount=" + droppedFrameCount
+                + ", showAnimatorTimeNanos=" + showAnimatorTimeNanos
+                + ", moveAnimatorTimeNanos=" + moveAnimatorTimeNanos
+                + ", hideAnimatorTimeNanos=" + hideAnimatorTimeNanos
+                + '}';
+    }
+
+}
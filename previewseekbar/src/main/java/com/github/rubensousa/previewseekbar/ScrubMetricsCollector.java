@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Collects the {@link ScrubMetrics} of a scrub session in primitive counters,
+ * so recording a scrub movement doesn't allocate.
+ * <p>
+ * Frames are observed with a {@link Choreographer.FrameCallback}
+ * that's only posted while a session is active.
+ * All methods must be called from the main thread.
+ */
+final class ScrubMetricsCollector implements Choreographer.FrameCallback {
+
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private final PreviewBar.OnScrubMetricsListener listener;
+    private boolean active;
+    private long sessionStartNanos;
+    private long frameIntervalNanos;
+    private long lastFrameTimeNanos;
+    private int scrubEventCount;
+    private int appliedScrubMoveCount;
+    private long scrubMoveTimeNanos;
+    private long maxScrubMoveTimeNanos;
+    private int frameCount;
+    private int lateFrameCount;
+    private int droppedFrameCount;
+    private long showAnimatorTimeNanos;
+    private long moveAnimatorTimeNanos;
+    private long hideAnimatorTimeNanos;
+
+    ScrubMetricsCollector(@NonNull PreviewBar.OnScrubMetricsListener listener) {
+        this.listener = listener;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Starts a new session, dropping the data of any session that wasn't finished
+     *
+     * @param barView the bar being scrubbed, used to read the display refresh rate
+     */
+    void start(@NonNull View barView) {
+        cancel();
+        final Display display = barView.getDisplay();
+        float refreshRate = display != null ? display.getRefreshRate() : DEFAULT_REFRESH_RATE;
+        if (refreshRate < 1f) {
+            refreshRate = DEFAULT_REFRESH_RATE;
+        }
+        frameIntervalNanos = (long) (1_000_000_000L / refreshRate);
+        scrubEventCount = 0;
+        appliedScrubMoveCount = 0;
+        scrubMoveTimeNanos = 0;
+        maxScrubMoveTimeNanos = 0;
+        frameCount = 0;
+        lateFrameCount = 0;
+        droppedFrameCount = 0;
+        showAnimatorTimeNanos = 0;
+        moveAnimatorTimeNanos = 0;
+        hideAnimatorTimeNanos = 0;
+        lastFrameTimeNanos = 0;
+        sessionStartNanos = System.nanoTime();
+        active = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Ends the current session and reports it to the listener
+     */
+    void finish(@NonNull PreviewBar previewBar) {
+        if (!active) {
+            return;
+        }
+        cancel();
+        listener.onScrubMetrics(previewBar, new ScrubMetrics(
+                System.nanoTime() - sessionStartNanos,
+                scrubEventCount,
+                appliedScrubMoveCount,
+                scrubMoveTimeNanos,
+                maxScrubMoveTimeNanos,
+                frameCount,
+                lateFrameCount,
+                droppedFrameCount,
+                showAnimatorTimeNanos,
+                moveAnimatorTimeNanos,
+                hideAnimatorTimeNanos));
+    }
+
+    /**
+     * Ends the current session without reporting it
+     */
+    void cancel() {
+        if (active) {
+            active = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    void onScrubEvent() {
+        scrubEventCount++;
+    }
+
+    void onScrubMoveApplied(long durationNanos) {
+        appliedScrubMoveCount++;
+        scrubMoveTimeNanos += durationNanos;
+        if (durationNanos > maxScrubMoveTimeNanos) {
+            maxScrubMoveTimeNanos = durationNanos;
+        }
+    }
+
+    void onShowAnimator(long durationNanos) {
+        showAnimatorTimeNanos += durationNanos;
+    }
+
+    void onMoveAnimator(long durationNanos) {
+        moveAnimatorTimeNanos += durationNanos;
+    }
+
+    void onHideAnimator(long durationNanos) {
+        hideAnimatorTimeNanos += durationNanos;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!active) {
+            return;
+        }
+        frameCount++;
+        if (lastFrameTimeNanos != 0) {
+            final long elapsed = frameTimeNanos - lastFrameTimeNanos;
+            // A frame is late if it started more than half an interval after it was expected
+            if (elapsed > frameIntervalNanos + frameIntervalNanos / 2) {
+                lateFrameCount++;
+                droppedFrameCount += (int) ((elapsed + frameIntervalNanos / 2)
+                        / frameIntervalNanos) - 1;
+            }
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+}
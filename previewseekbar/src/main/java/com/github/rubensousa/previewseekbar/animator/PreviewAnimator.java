@@ -28,7 +28,7 @@ import com.github.rubensousa.previewseekbar.PreviewBar;
 public interface PreviewAnimator {
 
     /**
-     * Use {@link PreviewBar#getProgress()} and {@link PreviewBar#getMax()}
+     * Use {@link PreviewBar#getLongProgress()} and {@link PreviewBar#getLongMax()}
      * to determine how much the preview should move
      *
      * @param previewView The view that displays the preview
@@ -25,6 +25,7 @@ import android.view.View;
 import android.view.ViewAnimationUtils;
 import android.view.ViewGroup;
 import android.view.animation.AccelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.FrameLayout;
 
 import androidx.core.graphics.drawable.DrawableCompat;
@@ -35,6 +36,9 @@ import com.github.rubensousa.previewseekbar.R;
 /**
  * A {@link PreviewAnimator} that morphs the {@link PreviewBar} thumb
  * into the preview view.
+ * <p>
+ * The overlay and morph views are resolved once for each preview view,
+ * and the interpolator, listeners and translation animator are reused between animations.
  */
 public class PreviewMorphAnimator implements PreviewAnimator {
 
@@ -54,7 +58,20 @@ public class PreviewMorphAnimator implements PreviewAnimator {
     private boolean isMorphingToShow;
     private boolean isMorphingToHide;
     private Animator morphAnimator;
-    private ValueAnimator translationAnimator;
+    private final ValueAnimator translationAnimator;
+    private final Interpolator interpolator;
+    private final AnimatorListenerAdapter showTranslationListener;
+    private final AnimatorListenerAdapter circularRevealListener;
+    private final AnimatorListenerAdapter reverseCircularRevealListener;
+    private final AnimatorListenerAdapter hideTranslationListener;
+    private float translationStartX;
+    private float translationEndX;
+
+    // The views of the current animation
+    private FrameLayout previewView;
+    private PreviewBar previewBar;
+    private View overlayView;
+    private View morphView;
 
     public PreviewMorphAnimator() {
         this(TRANSLATION_SHOW_DURATION, MORPH_SHOW_DURATION, MORPH_HIDE_DURATION,
@@ -69,12 +86,60 @@ public class PreviewMorphAnimator implements PreviewAnimator {
         this.morphShowDuration = morphShowDuration;
         this.morphHideDuration = morphHideDuration;
         this.hideTranslationDuration = hideTranslationDuration;
+        this.interpolator = new AccelerateInterpolator();
+        this.translationAnimator = ValueAnimator.ofFloat(0f, 1f);
+        this.translationAnimator.setInterpolator(interpolator);
+        this.translationAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                // The fraction avoids boxing the animated value on every frame
+                morphView.setX(translationStartX
+                        + (translationEndX - translationStartX) * animation.getAnimatedFraction());
+            }
+        });
+        this.showTranslationListener = new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                super.onAnimationEnd(animation);
+                isMovingToShow = false;
+                overlayView.setAlpha(1.0f);
+                if (previewView.isAttachedToWindow()) {
+                    startCircularReveal(previewView, overlayView, morphView);
+                }
+            }
+        };
+        this.circularRevealListener = new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                super.onAnimationEnd(animation);
+                isMorphingToShow = false;
+                isShowing = false;
+                overlayView.setAlpha(0.0f);
+                overlayView.setVisibility(View.INVISIBLE);
+            }
+        };
+        this.reverseCircularRevealListener = new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                super.onAnimationEnd(animation);
+                isMorphingToHide = false;
+                startHideTranslation(previewView, previewBar, overlayView, morphView);
+            }
+        };
+        this.hideTranslationListener = new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                super.onAnimationEnd(animation);
+                isMovingToHide = false;
+                isHiding = false;
+                morphView.setVisibility(View.INVISIBLE);
+            }
+        };
     }
 
     @Override
     public void cancel(FrameLayout previewView, PreviewBar previewBar) {
-        final View overlayView = getOrCreateOverlayView(previewView);
-        final View morphView = getOrCreateMorphView(previewView, previewBar);
+        resolveViews(previewView, previewBar);
         overlayView.setVisibility(View.INVISIBLE);
         morphView.setVisibility(View.INVISIBLE);
         cancelPendingAnimations(previewView, overlayView, morphView);
@@ -86,7 +151,7 @@ public class PreviewMorphAnimator implements PreviewAnimator {
         if (!isMovingToHide && !isMovingToShow) {
             return;
         }
-        final View morphView = getOrCreateMorphView(previewView, previewBar);
+        resolveViews(previewView, previewBar);
         float nextX;
         if (isMovingToShow) {
             nextX = getMorphEndX(previewView, previewBar);
@@ -95,24 +160,20 @@ public class PreviewMorphAnimator implements PreviewAnimator {
         }
 
         // Cancel the current animator since we're going to update manually
-        if (translationAnimator != null) {
-            translationAnimator.removeAllUpdateListeners();
-            translationAnimator.cancel();
-        }
+        translationAnimator.cancel();
         morphView.setX(nextX);
     }
 
     @Override
     public void show(final FrameLayout previewView, final PreviewBar previewBar) {
-        if (previewBar.getMax() == 0 || isShowing) {
+        if (previewBar.getLongMax() == 0 || isShowing) {
             return;
         }
 
         isHiding = false;
         isShowing = true;
 
-        final View overlayView = getOrCreateOverlayView(previewView);
-        final View morphView = getOrCreateMorphView(previewView, previewBar);
+        resolveViews(previewView, previewBar);
         cancelPendingAnimations(previewView, overlayView, morphView);
 
         // If we were still moving to hide the preview,
@@ -142,9 +203,7 @@ public class PreviewMorphAnimator implements PreviewAnimator {
         isShowing = false;
         isHiding = true;
 
-        final View morphView = getOrCreateMorphView(previewView, previewBar);
-        final View overlayView = getOrCreateOverlayView(previewView);
-
+        resolveViews(previewView, previewBar);
         cancelPendingAnimations(previewView, overlayView, morphView);
 
         // If we were still moving to show the preview,
@@ -199,18 +258,9 @@ public class PreviewMorphAnimator implements PreviewAnimator {
                 .scaleY(targetScale)
                 .scaleX(targetScale)
                 .setDuration(showTranslationDuration)
-                .setInterpolator(new AccelerateInterpolator())
-                .setListener(new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        super.onAnimationEnd(animation);
-                        isMovingToShow = false;
-                        overlayView.setAlpha(1.0f);
-                        if (previewView.isAttachedToWindow()) {
-                            startCircularReveal(previewView, overlayView, morphView);
-                        }
-                    }
-                }).start();
+                .setInterpolator(interpolator)
+                .setListener(showTranslationListener)
+                .start();
     }
 
     /**
@@ -231,18 +281,9 @@ public class PreviewMorphAnimator implements PreviewAnimator {
                 startRadius,
                 endRadius);
         morphAnimator.setTarget(previewView);
-        morphAnimator.setInterpolator(new AccelerateInterpolator());
+        morphAnimator.setInterpolator(interpolator);
         morphAnimator.setDuration(duration);
-        morphAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                super.onAnimationEnd(animation);
-                isMorphingToShow = false;
-                isShowing = false;
-                overlayView.setAlpha(0.0f);
-                overlayView.setVisibility(View.INVISIBLE);
-            }
-        });
+        morphAnimator.addListener(circularRevealListener);
         morphAnimator.start();
         previewView.setVisibility(View.VISIBLE);
         overlayView.setVisibility(View.VISIBLE);
@@ -269,19 +310,12 @@ public class PreviewMorphAnimator implements PreviewAnimator {
                 startRadius,
                 endRadius);
         morphAnimator.setDuration(duration);
-        morphAnimator.setInterpolator(new AccelerateInterpolator());
+        morphAnimator.setInterpolator(interpolator);
         morphAnimator.setTarget(previewView);
-        morphAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                super.onAnimationEnd(animation);
-                isMorphingToHide = false;
-                startHideTranslation(previewView, previewBar, overlayView, morphView);
-            }
-        });
+        morphAnimator.addListener(reverseCircularRevealListener);
         overlayView.setVisibility(View.VISIBLE);
         overlayView.animate().alpha(1f).setDuration(morphHideDuration / 2)
-                .setInterpolator(new AccelerateInterpolator()).start();
+                .setInterpolator(interpolator).start();
         morphAnimator.start();
     }
 
@@ -305,16 +339,9 @@ public class PreviewMorphAnimator implements PreviewAnimator {
                 .scaleY(0)
                 .scaleX(0)
                 .setDuration(hideTranslationDuration)
-                .setInterpolator(new AccelerateInterpolator())
-                .setListener(new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        super.onAnimationEnd(animation);
-                        isMovingToHide = false;
-                        isHiding = false;
-                        morphView.setVisibility(View.INVISIBLE);
-                    }
-                }).start();
+                .setInterpolator(interpolator)
+                .setListener(hideTranslationListener)
+                .start();
     }
 
     /**
@@ -323,19 +350,10 @@ public class PreviewMorphAnimator implements PreviewAnimator {
      * without canceling all current animations.
      */
     private void animateMorphViewX(final View morphView, float toX, long duration) {
-        if (translationAnimator != null) {
-            translationAnimator.removeAllUpdateListeners();
-            translationAnimator.cancel();
-        }
-        translationAnimator = ValueAnimator.ofFloat(morphView.getX(), toX);
-        translationAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                morphView.setX((float) animation.getAnimatedValue());
-            }
-        });
+        translationAnimator.cancel();
+        translationStartX = morphView.getX();
+        translationEndX = toX;
         translationAnimator.setDuration(duration);
-        translationAnimator.setInterpolator(new AccelerateInterpolator());
         translationAnimator.start();
     }
 
@@ -347,11 +365,7 @@ public class PreviewMorphAnimator implements PreviewAnimator {
             morphAnimator.cancel();
             morphAnimator = null;
         }
-        if (translationAnimator != null) {
-            translationAnimator.removeAllUpdateListeners();
-            translationAnimator.cancel();
-            translationAnimator = null;
-        }
+        translationAnimator.cancel();
         previewView.animate().setListener(null);
         previewView.animate().cancel();
         overlayView.animate().setListener(null);
@@ -360,6 +374,22 @@ public class PreviewMorphAnimator implements PreviewAnimator {
         morphView.animate().cancel();
     }
 
+    /**
+     * Finds or creates the overlay and morph views, unless they were already resolved
+     * for this preview view
+     */
+    private void resolveViews(FrameLayout previewView, PreviewBar previewBar) {
+        this.previewBar = previewBar;
+        if (this.previewView == previewView && morphView != null
+                && morphView.getParent() == previewView.getParent()
+                && overlayView.getParent() == previewView) {
+            return;
+        }
+        this.previewView = previewView;
+        this.overlayView = getOrCreateOverlayView(previewView);
+        this.morphView = getOrCreateMorphView(previewView, previewBar);
+    }
+
     /**
      * Creates the overlay view that displays above the preview view.
      * <p>
@@ -430,10 +460,11 @@ public class PreviewMorphAnimator implements PreviewAnimator {
     }
 
     private float getOffset(PreviewBar previewBar) {
-        if (previewBar.getMax() == 0) {
+        final long max = previewBar.getLongMax();
+        if (max == 0) {
             return 0.0f;
         }
-        return (float) previewBar.getProgress() / previewBar.getMax();
+        return (float) ((double) previewBar.getLongProgress() / max);
     }
 
     private float getMorphScale(FrameLayout previewView, View morphView) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.cache;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LongSparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+
+/**
+ * A pool of mutable bitmaps, grouped by width, height and {@link Bitmap.Config},
+ * that can be reused as the target of a decode through {@link BitmapFactory.Options#inBitmap}.
+ * <p>
+ * The pool is bounded by a byte budget. When it's exceeded, the oldest bitmaps are dropped.
+ * <p>
+ * This class is thread safe. Bitmaps must not be used after being added to the pool.
+ */
+public class BitmapPool {
+
+    private final LongSparseArray<ArrayDeque<Bitmap>> groups;
+    private final ArrayDeque<Bitmap> insertionOrder;
+    private int maxSize;
+    private int size;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * @param maxSizeBytes the maximum number of bytes kept in this pool
+     */
+    public BitmapPool(int maxSizeBytes) {
+        this.maxSize = maxSizeBytes;
+        this.groups = new LongSparseArray<>();
+        this.insertionOrder = new ArrayDeque<>();
+    }
+
+    /**
+     * @return a bitmap with the exact dimensions and config
+     * removed from the pool, or null if none is available
+     */
+    @Nullable
+    public synchronized Bitmap get(int width, int height, @NonNull Bitmap.Config config) {
+        final ArrayDeque<Bitmap> group = groups.get(getGroupKey(width, height, config));
+        final Bitmap bitmap = group == null ? null : group.pollLast();
+        if (bitmap == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        insertionOrder.remove(bitmap);
+        size -= bitmap.getAllocationByteCount();
+        return bitmap;
+    }
+
+    /**
+     * @return a bitmap from this pool, or a new one if none is available
+     */
+    @NonNull
+    public Bitmap getOrCreate(int width, int height, @NonNull Bitmap.Config config) {
+        final Bitmap bitmap = get(width, height, config);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Sets {@link BitmapFactory.Options#inBitmap} to a bitmap from this pool,
+     * so that the next decode with these options reuses it.
+     * If the decode fails, the bitmap can be added back with {@link #put(Bitmap)}.
+     *
+     * @param options the options for the decode.
+     *                {@link BitmapFactory.Options#inPreferredConfig} determines the config
+     * @param width   the width of the decoded bitmap
+     * @param height  the height of the decoded bitmap
+     * @return true if a bitmap from the pool was set
+     */
+    public boolean prepareOptions(@NonNull BitmapFactory.Options options, int width, int height) {
+        final Bitmap.Config config = options.inPreferredConfig != null
+                ? options.inPreferredConfig : Bitmap.Config.ARGB_8888;
+        options.inMutable = true;
+        options.inBitmap = get(width, height, config);
+        return options.inBitmap != null;
+    }
+
+    /**
+     * Adds a bitmap to this pool.
+     * Immutable, recycled or unsupported bitmaps, or bitmaps bigger than the pool, are ignored.
+     */
+    public void put(@NonNull Bitmap bitmap) {
+        final Bitmap.Config config = bitmap.getConfig();
+        if (config == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        final int byteCount = bitmap.getAllocationByteCount();
+        synchronized (this) {
+            if (byteCount > maxSize || insertionOrder.contains(bitmap)) {
+                return;
+            }
+            final long key = getGroupKey(bitmap.getWidth(), bitmap.getHeight(), config);
+            ArrayDeque<Bitmap> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayDeque<>();
+                groups.put(key, group);
+            }
+            group.addLast(bitmap);
+            insertionOrder.addLast(bitmap);
+            size += byteCount;
+            trimToSizeLocked(maxSize);
+        }
+    }
+
+    /**
+     * Removes the oldest bitmaps until the pool uses at most the given number of bytes
+     */
+    public synchronized void trimToSize(int maxSizeBytes) {
+        trimToSizeLocked(maxSizeBytes);
+    }
+
+    public synchronized void setMaxSize(int maxSizeBytes) {
+        this.maxSize = maxSizeBytes;
+        trimToSizeLocked(maxSizeBytes);
+    }
+
+    public synchronized void clear() {
+        groups.clear();
+        insertionOrder.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the number of bytes of the pooled bitmaps
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int maxSize() {
+        return maxSize;
+    }
+
+    public synchronized int hitCount() {
+        return hitCount;
+    }
+
+    public synchronized int missCount() {
+        return missCount;
+    }
+
+    private void trimToSizeLocked(int targetSize) {
+        while (size > targetSize) {
+            final Bitmap bitmap = insertionOrder.pollFirst();
+            if (bitmap == null) {
+                size = 0;
+                return;
+            }
+            final Bitmap.Config config = bitmap.getConfig();
+            final ArrayDeque<Bitmap> group = groups.get(getGroupKey(bitmap.getWidth(),
+                    bitmap.getHeight(), config));
+            if (group != null) {
+                group.remove(bitmap);
+            }
+            size -= bitmap.getAllocationByteCount();
+        }
+    }
+
+    /**
+     * Packs the width, height and config into a single key,
+     * so that lookups don't need to allocate
+     */
+    private static long getGroupKey(int width, int height, @Nullable Bitmap.Config config) {
+        final int configKey = config == null ? 0xFF : config.ordinal();
+        return ((long) width << 36) | ((long) (height & 0xFFFFFFF) << 8) | configKey;
+    }
+
+}
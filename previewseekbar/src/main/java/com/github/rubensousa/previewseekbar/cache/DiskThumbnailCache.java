@@ -0,0 +1,476 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.cache;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A disk cache of encoded thumbnails, keyed by {@link ThumbnailKey}, bounded by a byte budget.
+ * <p>
+ * Every thumbnail is stored in its own file, written to a temporary file first
+ * and then renamed, so a crash never leaves a partial thumbnail behind.
+ * Files are named after a hash of the key, and start with the full key,
+ * which is checked when reading so that a hash collision is a miss.
+ * The least recently accessed thumbnails are evicted once the budget is exceeded.
+ * <p>
+ * Accesses, writes and removals are appended to a small binary journal
+ * with fixed size records, which is read in a single pass when the cache is first used,
+ * instead of listing and inspecting every file. The journal is compacted when it grows
+ * too much compared to the number of entries.
+ * <p>
+ * This class is thread safe, but does I/O, so it shouldn't be used from the main thread.
+ * Its lock only guards the entries and the journal: thumbnails are read, written
+ * and encoded outside of it, so that concurrent loaders don't wait for each other.
+ */
+public class DiskThumbnailCache {
+
+    private static final String JOURNAL_FILE = "journal";
+    private static final String JOURNAL_TEMP_FILE = "journal.tmp";
+    private static final String ENTRY_SUFFIX = ".thumb";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final byte OP_PUT = 1;
+    private static final byte OP_READ = 2;
+    private static final byte OP_REMOVE = 3;
+    private static final int RECORD_SIZE = 1 + 8 + 4;
+    private static final int ENTRY_MAGIC = 0x50534231;
+    private static final int COMPACT_THRESHOLD = 2000;
+
+    private final File directory;
+    private final long maxSize;
+    private final LinkedHashMap<Long, Integer> entries;
+    private Bitmap.CompressFormat compressFormat = Bitmap.CompressFormat.JPEG;
+    private int compressQuality = 85;
+    @Nullable
+    private DataOutputStream journal;
+    private boolean initialized;
+    private long size;
+    private int journalRecords;
+
+    /**
+     * @param directory    the directory that'll only contain this cache
+     * @param maxSizeBytes the maximum number of bytes of the stored thumbnails
+     */
+    public DiskThumbnailCache(@NonNull File directory, long maxSizeBytes) {
+        this.directory = directory;
+        this.maxSize = maxSizeBytes;
+        // Access ordered, so iteration starts with the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Sets how the bitmaps passed to {@link #put(ThumbnailKey, Bitmap)} are encoded.
+     * The default is JPEG with quality 85.
+     */
+    public synchronized void setCompressFormat(@NonNull Bitmap.CompressFormat format,
+                                               int quality) {
+        this.compressFormat = format;
+        this.compressQuality = quality;
+    }
+
+    /**
+     * @return the encoded thumbnail or null if it's not cached
+     */
+    @WorkerThread
+    @Nullable
+    public byte[] get(@NonNull ThumbnailKey key) {
+        final long hash = hash(key);
+        final Integer length;
+        synchronized (this) {
+            initialize();
+            length = entries.get(hash);
+        }
+        if (length == null) {
+            return null;
+        }
+        final byte[] data;
+        try {
+            data = readEntry(key, getEntryFile(hash));
+        } catch (IOException e) {
+            synchronized (this) {
+                // Unless the entry was replaced while reading it
+                if (length.equals(entries.get(hash))) {
+                    removeEntry(hash);
+                }
+            }
+            return null;
+        }
+        if (data != null) {
+            synchronized (this) {
+                final Integer currentLength = entries.get(hash);
+                if (currentLength != null) {
+                    appendRecord(OP_READ, hash, currentLength);
+                }
+            }
+        }
+        return data;
+    }
+
+    public synchronized boolean contains(@NonNull ThumbnailKey key) {
+        initialize();
+        return entries.containsKey(hash(key));
+    }
+
+    /**
+     * Stores an encoded thumbnail, replacing any previous one with the same key
+     */
+    @WorkerThread
+    public void put(@NonNull ThumbnailKey key,
+                    @NonNull byte[] data, int offset, int length) {
+        synchronized (this) {
+            initialize();
+        }
+        final long hash = hash(key);
+        final File file = getEntryFile(hash);
+        // Concurrent writers of the same key use different temporary files
+        final File tempFile = new File(directory, file.getName() + "."
+                + Thread.currentThread().getId() + TEMP_SUFFIX);
+        final int fileLength;
+        try {
+            final byte[] header = encodeHeader(key);
+            fileLength = header.length + length;
+            if (fileLength > maxSize) {
+                return;
+            }
+            final FileOutputStream outputStream = new FileOutputStream(tempFile);
+            try {
+                outputStream.write(header);
+                outputStream.write(data, offset, length);
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            return;
+        }
+        synchronized (this) {
+            // The cache might have been cleared or closed while writing
+            initialize();
+            // Renamed while holding the lock, so the file always matches its journaled length
+            if (!tempFile.renameTo(file)) {
+                tempFile.delete();
+                return;
+            }
+            final Integer previousLength = entries.put(hash, fileLength);
+            if (previousLength != null) {
+                size -= previousLength;
+            }
+            size += fileLength;
+            appendRecord(OP_PUT, hash, fileLength);
+            trimToSize(maxSize);
+        }
+    }
+
+    /**
+     * Encodes a thumbnail with the format set in {@link #setCompressFormat(Bitmap.CompressFormat, int)}
+     * and stores it
+     */
+    @WorkerThread
+    public void put(@NonNull ThumbnailKey key, @NonNull Bitmap bitmap) {
+        final Bitmap.CompressFormat format;
+        final int quality;
+        synchronized (this) {
+            format = compressFormat;
+            quality = compressQuality;
+        }
+        final ByteArrayOutputStream encodeBuffer = new ByteArrayOutputStream();
+        if (bitmap.compress(format, quality, encodeBuffer)) {
+            put(key, encodeBuffer.toByteArray(), 0, encodeBuffer.size());
+        }
+    }
+
+    @WorkerThread
+    public synchronized void remove(@NonNull ThumbnailKey key) {
+        initialize();
+        removeEntry(hash(key));
+    }
+
+    /**
+     * Removes all the thumbnails of this cache
+     */
+    @WorkerThread
+    public synchronized void clear() {
+        closeJournal();
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        entries.clear();
+        size = 0;
+        journalRecords = 0;
+        initialized = false;
+    }
+
+    /**
+     * @return the number of bytes of the stored thumbnails
+     */
+    public synchronized long size() {
+        initialize();
+        return size;
+    }
+
+    public long maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Flushes and closes the journal. The cache opens it again if it's used afterwards
+     */
+    public synchronized void close() {
+        closeJournal();
+        initialized = false;
+        entries.clear();
+        size = 0;
+    }
+
+    private void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        final File journalFile = new File(directory, JOURNAL_FILE);
+        try {
+            readJournal(journalFile);
+        } catch (IOException e) {
+            // The journal can't be trusted, so start from scratch
+            clear();
+            initialized = true;
+            directory.mkdirs();
+        }
+        try {
+            journal = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(journalFile, true)));
+        } catch (IOException e) {
+            journal = null;
+        }
+        trimToSize(maxSize);
+    }
+
+    private void readJournal(File journalFile) throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        final RandomAccessFile file = new RandomAccessFile(journalFile, "r");
+        final byte[] content;
+        try {
+            content = new byte[(int) file.length()];
+            file.readFully(content);
+        } finally {
+            file.close();
+        }
+        // Ignore a partial record at the end, written during a crash
+        final int records = content.length / RECORD_SIZE;
+        final ByteBuffer buffer = ByteBuffer.wrap(content);
+        for (int i = 0; i < records; i++) {
+            final byte op = buffer.get();
+            final long hash = buffer.getLong();
+            final int length = buffer.getInt();
+            if (op == OP_PUT) {
+                final Integer previousLength = entries.put(hash, length);
+                if (previousLength != null) {
+                    size -= previousLength;
+                }
+                size += length;
+            } else if (op == OP_READ) {
+                // Moves the entry to the end of the access order
+                entries.get(hash);
+            } else if (op == OP_REMOVE) {
+                final Integer previousLength = entries.remove(hash);
+                if (previousLength != null) {
+                    size -= previousLength;
+                }
+            } else {
+                throw new IOException("Corrupted journal");
+            }
+        }
+        journalRecords = records;
+    }
+
+    /**
+     * Reads the thumbnail stored in an entry file
+     *
+     * @return the thumbnail, or null if the file belongs to another key with the same hash
+     * @throws IOException if the file is missing or corrupted
+     */
+    @Nullable
+    private static byte[] readEntry(ThumbnailKey key, File file) throws IOException {
+        final byte[] header = encodeHeader(key);
+        final FileInputStream fileStream = new FileInputStream(file);
+        try {
+            // The size of the opened file, in case it was replaced after the lookup
+            final long length = fileStream.getChannel().size();
+            if (length < header.length || length > Integer.MAX_VALUE) {
+                throw new IOException("Corrupted thumbnail " + file);
+            }
+            final DataInputStream inputStream = new DataInputStream(fileStream);
+            final byte[] storedHeader = new byte[header.length];
+            inputStream.readFully(storedHeader);
+            if (!Arrays.equals(header, storedHeader)) {
+                if (ByteBuffer.wrap(storedHeader).getInt() != ENTRY_MAGIC) {
+                    throw new IOException("Corrupted thumbnail " + file);
+                }
+                // Another key with the same hash
+                return null;
+            }
+            final byte[] data = new byte[(int) length - header.length];
+            inputStream.readFully(data);
+            return data;
+        } finally {
+            fileStream.close();
+        }
+    }
+
+    private void trimToSize(long targetSize) {
+        while (size > targetSize && !entries.isEmpty()) {
+            final Map.Entry<Long, Integer> eldest = entries.entrySet().iterator().next();
+            final long hash = eldest.getKey();
+            final int length = eldest.getValue();
+            // Remove the entry before appending the record,
+            // since appending can compact the journal with the remaining entries
+            entries.remove(hash);
+            getEntryFile(hash).delete();
+            size -= length;
+            appendRecord(OP_REMOVE, hash, length);
+        }
+    }
+
+    private void removeEntry(long hash) {
+        final Integer length = entries.remove(hash);
+        getEntryFile(hash).delete();
+        if (length != null) {
+            size -= length;
+            appendRecord(OP_REMOVE, hash, length);
+        }
+    }
+
+    private void appendRecord(byte op, long hash, int length) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.writeByte(op);
+            journal.writeLong(hash);
+            journal.writeInt(length);
+            if (op != OP_READ) {
+                journal.flush();
+            }
+            journalRecords++;
+            if (journalRecords > COMPACT_THRESHOLD && journalRecords > entries.size() * 2) {
+                compactJournal();
+            }
+        } catch (IOException e) {
+            closeJournal();
+        }
+    }
+
+    /**
+     * Rewrites the journal with a single record for each entry, in access order
+     */
+    private void compactJournal() throws IOException {
+        closeJournal();
+        final File tempFile = new File(directory, JOURNAL_TEMP_FILE);
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(tempFile)));
+        try {
+            for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+                output.writeByte(OP_PUT);
+                output.writeLong(entry.getKey());
+                output.writeInt(entry.getValue());
+            }
+        } finally {
+            output.close();
+        }
+        final File journalFile = new File(directory, JOURNAL_FILE);
+        if (!tempFile.renameTo(journalFile)) {
+            tempFile.delete();
+            throw new IOException("Couldn't replace the journal");
+        }
+        journalRecords = entries.size();
+        journal = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(journalFile, true)));
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                // Nothing else we can do
+            }
+            journal = null;
+        }
+    }
+
+    private File getEntryFile(long hash) {
+        return new File(directory, Long.toHexString(hash) + ENTRY_SUFFIX);
+    }
+
+    /**
+     * The full key stored at the start of every entry file
+     */
+    private static byte[] encodeHeader(ThumbnailKey key) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(buffer);
+        output.writeInt(ENTRY_MAGIC);
+        output.writeUTF(key.getSourceId());
+        output.writeLong(key.getTileIndex());
+        output.flush();
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the key, used as the file name of the entry
+     */
+    private static long hash(ThumbnailKey key) {
+        long hash = 0xcbf29ce484222325L;
+        final String sourceId = key.getSourceId();
+        for (int i = 0; i < sourceId.length(); i++) {
+            hash ^= sourceId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        long tileIndex = key.getTileIndex();
+        for (int i = 0; i < 8; i++) {
+            hash ^= tileIndex & 0xFF;
+            hash *= 0x100000001b3L;
+            tileIndex >>>= 8;
+        }
+        return hash;
+    }
+
+}
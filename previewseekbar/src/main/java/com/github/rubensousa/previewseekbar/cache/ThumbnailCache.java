@@ -0,0 +1,425 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.cache;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * An in-memory LRU cache of decoded thumbnails, keyed by {@link ThumbnailKey}.
+ * <p>
+ * The size of the cache is measured in bytes with {@link Bitmap#getAllocationByteCount()}.
+ * The least recently used thumbnails are evicted once that budget is exceeded.
+ * <p>
+ * If a {@link BitmapPool} is used, evicted thumbnails are returned to it,
+ * unless they're pinned with {@link #pin(Bitmap)} because they're still displayed.
+ * <p>
+ * Loads started with {@link #getOrLoad(ThumbnailKey, Loader)} are shared,
+ * so concurrent loads of the same thumbnail only decode it once.
+ * Loaders that display the thumbnails should use {@link #getPinned(ThumbnailKey)}
+ * and {@link #getOrLoadPinned(ThumbnailKey, Loader)}, so that a thumbnail can't be
+ * evicted and reused between being returned and being pinned.
+ * <p>
+ * A {@link DiskThumbnailCache} can be set with {@link #setDiskCache(DiskThumbnailCache)}
+ * to keep the thumbnails across sessions. Loaders read through to it on a memory miss
+ * and store the thumbnails they decode from the source in it.
+ * <p>
+ * This class is thread safe, so it can be shared by multiple loaders.
+ * Bitmaps stored here must not be modified after being added.
+ */
+public class ThumbnailCache {
+
+    private final BitmapLruCache cache;
+    private final HashMap<ThumbnailKey, PendingLoad> pendingLoads;
+    @Nullable
+    private volatile DiskThumbnailCache diskCache;
+
+    /**
+     * @param maxSizeBytes the maximum number of bytes used by the cached bitmaps
+     */
+    public ThumbnailCache(int maxSizeBytes) {
+        this(maxSizeBytes, null);
+    }
+
+    /**
+     * @param maxSizeBytes the maximum number of bytes used by the cached bitmaps
+     * @param bitmapPool   a pool that receives the evicted bitmaps, or null to drop them
+     */
+    public ThumbnailCache(int maxSizeBytes, @Nullable BitmapPool bitmapPool) {
+        this.cache = new BitmapLruCache(maxSizeBytes, bitmapPool);
+        this.pendingLoads = new HashMap<>();
+    }
+
+    /**
+     * Creates a cache that uses a fraction of the maximum memory available to this process
+     *
+     * @param fraction the fraction of {@link Runtime#maxMemory()} to use, between 0 and 1
+     */
+    @NonNull
+    public static ThumbnailCache createWithMemoryFraction(float fraction) {
+        return createWithMemoryFraction(fraction, null);
+    }
+
+    /**
+     * Creates a cache that uses a fraction of the maximum memory available to this process
+     *
+     * @param fraction   the fraction of {@link Runtime#maxMemory()} to use, between 0 and 1
+     * @param bitmapPool a pool that receives the evicted bitmaps, or null to drop them
+     */
+    @NonNull
+    public static ThumbnailCache createWithMemoryFraction(float fraction,
+                                                          @Nullable BitmapPool bitmapPool) {
+        if (fraction <= 0f || fraction > 1f) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        }
+        final long maxSize = (long) (Runtime.getRuntime().maxMemory() * fraction);
+        return new ThumbnailCache((int) Math.min(Integer.MAX_VALUE, maxSize), bitmapPool);
+    }
+
+    /**
+     * @return the pool that receives the evicted bitmaps, if any
+     */
+    @Nullable
+    public BitmapPool getBitmapPool() {
+        return cache.bitmapPool;
+    }
+
+    /**
+     * @param diskCache the cache that persists the thumbnails, or null to keep them in memory only
+     */
+    public void setDiskCache(@Nullable DiskThumbnailCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    @Nullable
+    public DiskThumbnailCache getDiskCache() {
+        return diskCache;
+    }
+
+    @Nullable
+    public Bitmap get(@NonNull ThumbnailKey key) {
+        return cache.get(key);
+    }
+
+    @Nullable
+    public Bitmap get(@NonNull String sourceId, long tileIndex) {
+        return cache.get(new ThumbnailKey(sourceId, tileIndex));
+    }
+
+    /**
+     * Returns a cached thumbnail that's already pinned with {@link #pin(Bitmap)}.
+     * The caller must call {@link #unpin(Bitmap)} once the thumbnail is no longer displayed.
+     *
+     * @return the pinned thumbnail, or null if it isn't cached
+     */
+    @Nullable
+    public Bitmap getPinned(@NonNull ThumbnailKey key) {
+        return cache.getPinned(key);
+    }
+
+    @Nullable
+    public Bitmap getPinned(@NonNull String sourceId, long tileIndex) {
+        return cache.getPinned(new ThumbnailKey(sourceId, tileIndex));
+    }
+
+    public void put(@NonNull ThumbnailKey key, @NonNull Bitmap bitmap) {
+        cache.put(key, bitmap);
+    }
+
+    public void put(@NonNull String sourceId, long tileIndex, @NonNull Bitmap bitmap) {
+        cache.put(new ThumbnailKey(sourceId, tileIndex), bitmap);
+    }
+
+    /**
+     * Returns a cached thumbnail, or loads and caches it.
+     * If the same thumbnail is already being loaded by another thread,
+     * this waits for that load instead of starting a new one.
+     *
+     * @return the thumbnail, or null if it couldn't be loaded
+     */
+    @WorkerThread
+    @Nullable
+    public Bitmap getOrLoad(@NonNull ThumbnailKey key, @NonNull Loader loader) throws IOException {
+        final Bitmap bitmap = getOrLoadPinned(key, loader);
+        if (bitmap != null) {
+            cache.unpin(bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Same as {@link #getOrLoad(ThumbnailKey, Loader)}, but the returned thumbnail
+     * is already pinned with {@link #pin(Bitmap)}.
+     * The caller must call {@link #unpin(Bitmap)} once the thumbnail is no longer displayed.
+     *
+     * @return the pinned thumbnail, or null if it couldn't be loaded
+     */
+    @WorkerThread
+    @Nullable
+    public Bitmap getOrLoadPinned(@NonNull ThumbnailKey key,
+                                  @NonNull Loader loader) throws IOException {
+        final Bitmap cachedBitmap = cache.getPinned(key);
+        if (cachedBitmap != null) {
+            return cachedBitmap;
+        }
+        final PendingLoad pendingLoad;
+        final boolean owner;
+        synchronized (pendingLoads) {
+            final PendingLoad existingLoad = pendingLoads.get(key);
+            if (existingLoad != null) {
+                existingLoad.waiters++;
+                pendingLoad = existingLoad;
+                owner = false;
+            } else {
+                pendingLoad = new PendingLoad();
+                pendingLoads.put(key, pendingLoad);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return pendingLoad.await();
+        }
+        Bitmap bitmap = null;
+        try {
+            bitmap = loader.load(key);
+            if (bitmap != null) {
+                // Pin before adding it, since other threads can evict it right away
+                cache.pin(bitmap);
+                cache.put(key, bitmap);
+            }
+            return bitmap;
+        } finally {
+            final int waiters;
+            synchronized (pendingLoads) {
+                pendingLoads.remove(key);
+                waiters = pendingLoad.waiters;
+            }
+            // Every waiter receives its own pin
+            if (bitmap != null) {
+                for (int i = 0; i < waiters; i++) {
+                    cache.pin(bitmap);
+                }
+            }
+            pendingLoad.complete(bitmap);
+        }
+    }
+
+    /**
+     * Prevents a bitmap from being returned to the {@link BitmapPool} while it's displayed.
+     * Bitmaps can be pinned more than once and by different loaders.
+     */
+    public void pin(@NonNull Bitmap bitmap) {
+        cache.pin(bitmap);
+    }
+
+    /**
+     * Reverts {@link #pin(Bitmap)}. If the bitmap was evicted while pinned
+     * and isn't pinned anymore, it's returned to the {@link BitmapPool}
+     */
+    public void unpin(@NonNull Bitmap bitmap) {
+        cache.unpin(bitmap);
+    }
+
+    /**
+     * Removes a thumbnail from the cache. If there's a {@link BitmapPool},
+     * the removed bitmap is returned to it.
+     *
+     * @return true if the thumbnail was cached
+     */
+    public boolean remove(@NonNull ThumbnailKey key) {
+        return cache.remove(key) != null;
+    }
+
+    /**
+     * Evicts entries until the cache uses at most the given number of bytes
+     */
+    public void trimToSize(int maxSizeBytes) {
+        cache.trimToSize(maxSizeBytes);
+    }
+
+    /**
+     * Evicts all entries
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * @return the number of bytes used by the cached bitmaps
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    public int maxSize() {
+        return cache.maxSize();
+    }
+
+    public int hitCount() {
+        return cache.hitCount();
+    }
+
+    public int missCount() {
+        return cache.missCount();
+    }
+
+    public int evictionCount() {
+        return cache.evictionCount();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ThumbnailCache[size=" + size()
+                + ",maxSize=" + maxSize()
+                + ",hits=" + hitCount()
+                + ",misses=" + missCount()
+                + ",evictions=" + evictionCount() + "]";
+    }
+
+    /**
+     * Loads a thumbnail that isn't cached
+     */
+    public interface Loader {
+        @WorkerThread
+        @Nullable
+        Bitmap load(@NonNull ThumbnailKey key) throws IOException;
+    }
+
+    private static class PendingLoad {
+
+        // Guarded by the lock of pendingLoads
+        int waiters;
+        private boolean completed;
+        @Nullable
+        private Bitmap bitmap;
+
+        synchronized void complete(@Nullable Bitmap bitmap) {
+            this.bitmap = bitmap;
+            this.completed = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits for the load even if interrupted,
+         * since the bitmap was already pinned for this waiter
+         */
+        @Nullable
+        synchronized Bitmap await() {
+            boolean interrupted = false;
+            while (!completed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return bitmap;
+        }
+    }
+
+    private static class BitmapLruCache extends LruCache<ThumbnailKey, Bitmap> {
+
+        @Nullable
+        final BitmapPool bitmapPool;
+        // Pin counts of the displayed bitmaps, and the pinned ones that were evicted
+        private final IdentityHashMap<Bitmap, Integer> pinCounts;
+        private final IdentityHashMap<Bitmap, Boolean> evictedPinnedBitmaps;
+
+        BitmapLruCache(int maxSize, @Nullable BitmapPool bitmapPool) {
+            super(maxSize);
+            this.bitmapPool = bitmapPool;
+            this.pinCounts = new IdentityHashMap<>();
+            this.evictedPinnedBitmaps = new IdentityHashMap<>();
+        }
+
+        /**
+         * Looks up and pins a bitmap while holding the pin lock, so that
+         * {@link #entryRemoved(boolean, ThumbnailKey, Bitmap, Bitmap)} either sees it pinned
+         * or removed it before the lookup
+         */
+        @Nullable
+        Bitmap getPinned(ThumbnailKey key) {
+            synchronized (pinCounts) {
+                final Bitmap bitmap = get(key);
+                if (bitmap != null) {
+                    pin(bitmap);
+                }
+                return bitmap;
+            }
+        }
+
+        void pin(Bitmap bitmap) {
+            synchronized (pinCounts) {
+                final Integer count = pinCounts.get(bitmap);
+                pinCounts.put(bitmap, count == null ? 1 : count + 1);
+            }
+        }
+
+        void unpin(Bitmap bitmap) {
+            synchronized (pinCounts) {
+                final Integer count = pinCounts.get(bitmap);
+                if (count == null) {
+                    return;
+                }
+                if (count > 1) {
+                    pinCounts.put(bitmap, count - 1);
+                    return;
+                }
+                pinCounts.remove(bitmap);
+                if (evictedPinnedBitmaps.remove(bitmap) == null) {
+                    return;
+                }
+            }
+            if (bitmapPool != null) {
+                bitmapPool.put(bitmap);
+            }
+        }
+
+        @Override
+        protected int sizeOf(ThumbnailKey key, Bitmap value) {
+            return value.getAllocationByteCount();
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, ThumbnailKey key,
+                                    Bitmap oldValue, Bitmap newValue) {
+            if (bitmapPool == null || oldValue == newValue) {
+                return;
+            }
+            synchronized (pinCounts) {
+                if (pinCounts.containsKey(oldValue)) {
+                    evictedPinnedBitmaps.put(oldValue, Boolean.TRUE);
+                    return;
+                }
+            }
+            bitmapPool.put(oldValue);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.cache;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Identifies a thumbnail by the source it belongs to and its index inside that source
+ */
+public final class ThumbnailKey {
+
+    private final String sourceId;
+    private final long tileIndex;
+
+    public ThumbnailKey(@NonNull String sourceId, long tileIndex) {
+        this.sourceId = sourceId;
+        this.tileIndex = tileIndex;
+    }
+
+    @NonNull
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public long getTileIndex() {
+        return tileIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ThumbnailKey that = (ThumbnailKey) o;
+
+        if (tileIndex != that.tileIndex) return false;
+        return sourceId.equals(that.sourceId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = sourceId.hashCode();
+        result = 31 * result + (int) (tileIndex ^ (tileIndex >>> 32));
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return sourceId + "#" + tileIndex;
+    }
+}
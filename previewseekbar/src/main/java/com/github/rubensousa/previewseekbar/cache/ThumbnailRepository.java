@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * A process-wide owner of thumbnails that are shared between multiple {@link
+ * com.github.rubensousa.previewseekbar.PreviewBar}s, like the inline players of a grid
+ * showing the same assets as a full screen player.
+ * <p>
+ * Loaders that use {@link #getCache()} with the asset id as the source id
+ * share the decoded thumbnails and the decodes in flight,
+ * so the same thumbnail is only decoded once.
+ * <p>
+ * Per-asset sources, like a parsed thumbnail index or a memory mapped file,
+ * are reference counted with {@link #acquire(String, Class, SourceFactory)}
+ * and {@link #release(String)}. A source is closed when its last reference is released,
+ * if it implements {@link Closeable}.
+ * <p>
+ * This class is thread safe.
+ */
+public final class ThumbnailRepository {
+
+    private static final float DEFAULT_MEMORY_FRACTION = 0.125f;
+    private static final int DEFAULT_POOL_SIZE = 4 * 1024 * 1024;
+
+    @Nullable
+    private static ThumbnailRepository instance;
+
+    private final ThumbnailCache cache;
+    private final HashMap<String, SourceEntry> sources;
+
+    /**
+     * @param cache the cache shared by every asset
+     */
+    public ThumbnailRepository(@NonNull ThumbnailCache cache) {
+        this.cache = cache;
+        this.sources = new HashMap<>();
+    }
+
+    /**
+     * @return the repository of this process,
+     * created with a cache that uses 1/8 of the maximum memory of the process
+     */
+    @NonNull
+    public static synchronized ThumbnailRepository getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailRepository(ThumbnailCache.createWithMemoryFraction(
+                    DEFAULT_MEMORY_FRACTION, new BitmapPool(DEFAULT_POOL_SIZE)));
+        }
+        return instance;
+    }
+
+    @NonNull
+    public ThumbnailCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns the source of an asset, creating it if there isn't one yet,
+     * and increments its reference count.
+     * Every call must be balanced with {@link #release(String)}.
+     * <p>
+     * The source is created without holding the lock of this repository,
+     * so a slow source doesn't block the other assets. If another thread created
+     * the source of the same asset first, the source created by this call is closed.
+     *
+     * @param assetId     the id of the asset, also used as the source id in the cache
+     * @param sourceClass the type of the source
+     * @param factory     creates the source if it doesn't exist
+     * @throws IllegalStateException if the asset already has a source of another type
+     */
+    @NonNull
+    public <T> T acquire(@NonNull String assetId,
+                         @NonNull Class<T> sourceClass,
+                         @NonNull SourceFactory<T> factory) throws IOException {
+        synchronized (this) {
+            final SourceEntry entry = sources.get(assetId);
+            if (entry != null) {
+                return reference(entry, assetId, sourceClass);
+            }
+        }
+        final T createdSource = factory.create(assetId);
+        boolean installed = false;
+        try {
+            synchronized (this) {
+                final SourceEntry entry = sources.get(assetId);
+                if (entry != null) {
+                    return reference(entry, assetId, sourceClass);
+                }
+                final SourceEntry createdEntry = new SourceEntry(createdSource);
+                sources.put(assetId, createdEntry);
+                installed = true;
+                return reference(createdEntry, assetId, sourceClass);
+            }
+        } finally {
+            if (!installed) {
+                close(createdSource);
+            }
+        }
+    }
+
+    /**
+     * Decrements the reference count of the source of an asset,
+     * closing it once no one references it.
+     * The decoded thumbnails of the asset stay in the cache until they're evicted.
+     */
+    public void release(@NonNull String assetId) {
+        final SourceEntry entry;
+        synchronized (this) {
+            entry = sources.get(assetId);
+            if (entry == null) {
+                return;
+            }
+            entry.referenceCount--;
+            if (entry.referenceCount > 0) {
+                return;
+            }
+            sources.remove(assetId);
+        }
+        close(entry.source);
+    }
+
+    /**
+     * @return the number of references to the source of an asset
+     */
+    public synchronized int getReferenceCount(@NonNull String assetId) {
+        final SourceEntry entry = sources.get(assetId);
+        return entry == null ? 0 : entry.referenceCount;
+    }
+
+    private static <T> T reference(SourceEntry entry, String assetId, Class<T> sourceClass) {
+        if (!sourceClass.isAssignableFrom(entry.sourceClass)) {
+            throw new IllegalStateException("The source of " + assetId + " is a "
+                    + entry.sourceClass.getName() + ", not a " + sourceClass.getName());
+        }
+        entry.referenceCount++;
+        return sourceClass.cast(entry.source);
+    }
+
+    private static void close(Object source) {
+        if (source instanceof Closeable) {
+            try {
+                ((Closeable) source).close();
+            } catch (IOException e) {
+                // The source is no longer used, so there's nothing else to do
+            }
+        }
+    }
+
+    /**
+     * Creates the source of an asset the first time it's acquired
+     */
+    public interface SourceFactory<T> {
+        @NonNull
+        T create(@NonNull String assetId) throws IOException;
+    }
+
+    private static class SourceEntry {
+
+        final Object source;
+        final Class<?> sourceClass;
+        int referenceCount;
+
+        SourceEntry(Object source) {
+            this.source = source;
+            this.sourceClass = source.getClass();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+
+/**
+ * Displays the thumbnails written by a {@link ThumbnailGenerator.CacheSink}.
+ * <p>
+ * Nothing is decoded by this loader: thumbnails are only read from the {@link ThumbnailCache}
+ * set with {@link #setThumbnailCache(ThumbnailCache, String)}, using the same source id
+ * as the sink. Set this loader as the {@link ThumbnailGenerator.Listener}
+ * to display the requested thumbnail as soon as it's generated.
+ */
+public class GeneratedPreviewLoader extends ImagePreviewLoader
+        implements ThumbnailGenerator.Listener {
+
+    private final long interval;
+
+    /**
+     * @param imageView the view that displays the thumbnails
+     * @param interval  the interval used by the {@link ThumbnailGenerator}
+     */
+    public GeneratedPreviewLoader(@NonNull ImageView imageView, long interval) {
+        super(imageView);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than 0");
+        }
+        this.interval = interval;
+    }
+
+    @Override
+    protected long getTileIndex(long position, long max) {
+        return position / interval;
+    }
+
+    @Nullable
+    @Override
+    protected Bitmap decodeTile(long tileIndex) {
+        // Not generated yet. It's displayed in onThumbnailGenerated
+        return null;
+    }
+
+    @Override
+    public void onThumbnailGenerated(long index, int generatedCount, int totalCount) {
+        onTileAvailable(index);
+    }
+
+    @Override
+    public void onGenerationFinished() {
+
+    }
+
+    @Override
+    public void onGenerationFailed(@NonNull Exception exception) {
+
+    }
+
+}
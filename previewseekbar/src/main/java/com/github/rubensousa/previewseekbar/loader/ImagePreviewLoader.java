@@ -0,0 +1,617 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.github.rubensousa.previewseekbar.AsyncPreviewLoader;
+import com.github.rubensousa.previewseekbar.PreviewBar;
+import com.github.rubensousa.previewseekbar.PreviewRequest;
+import com.github.rubensousa.previewseekbar.cache.BitmapPool;
+import com.github.rubensousa.previewseekbar.cache.DiskThumbnailCache;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailKey;
+
+import java.io.IOException;
+
+/**
+ * Base {@link AsyncPreviewLoader} for loaders that display thumbnails in an {@link ImageView}.
+ * <p>
+ * Subclasses map a position to a tile index in {@link #getTileIndex(long, long)}
+ * and decode that tile in {@link #decodeTile(long)}, which runs on a background thread.
+ * This class handles the display, the {@link ThumbnailCache} and the {@link BitmapPool}.
+ * <p>
+ * Without a cache, the decoded pixels are written into two alternating bitmaps,
+ * so the displayed bitmap is never modified.
+ * <p>
+ * This loader expects a single request at a time,
+ * so it should be used with {@link PreviewBar#setAsyncPreviewLoader(AsyncPreviewLoader)}.
+ * Call {@link #release()} once it's no longer needed.
+ */
+public abstract class ImagePreviewLoader implements AsyncPreviewLoader {
+
+    public static final long NO_TILE = -1;
+
+    private final ImageView imageView;
+    private final PreviewDecodeScheduler scheduler;
+    private final boolean ownsScheduler;
+    private final Handler handler;
+    private final BitmapFactory.Options options;
+    private final ThumbnailCache.Loader tileLoader;
+    @Nullable
+    private volatile ThumbnailCache thumbnailCache;
+    @Nullable
+    private volatile String sourceId;
+    @Nullable
+    private volatile BitmapPool bitmapPool;
+
+    // The displayed bitmap and the one that'll be used for the next decode
+    @Nullable
+    private volatile Bitmap displayedBitmap;
+    @Nullable
+    private volatile Bitmap spareBitmap;
+    private long displayedTile = NO_TILE;
+    // The displayed bitmap is pinned in the cache, so it isn't reused while visible
+    @Nullable
+    private ThumbnailCache pinnedCache;
+    @Nullable
+    private Bitmap pinnedBitmap;
+    private volatile long requestedTile = NO_TILE;
+    @Nullable
+    private PreviewMosaic.CellDrawable mosaicDrawable;
+
+    public ImagePreviewLoader(@NonNull ImageView imageView) {
+        this(imageView, new PreviewDecodeScheduler(1), true);
+    }
+
+    /**
+     * @param imageView the view that displays the thumbnails
+     * @param scheduler the scheduler that runs the decodes, which can be shared by other loaders.
+     *                  It's not shut down by {@link #release()}
+     */
+    public ImagePreviewLoader(@NonNull ImageView imageView,
+                              @NonNull PreviewDecodeScheduler scheduler) {
+        this(imageView, scheduler, false);
+    }
+
+    private ImagePreviewLoader(ImageView imageView, PreviewDecodeScheduler scheduler,
+                               boolean ownsScheduler) {
+        this.imageView = imageView;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.options = new BitmapFactory.Options();
+        this.options.inMutable = true;
+        this.tileLoader = new ThumbnailCache.Loader() {
+            @Nullable
+            @Override
+            public Bitmap load(@NonNull ThumbnailKey key) throws IOException {
+                final ThumbnailCache cache = thumbnailCache;
+                return cache == null ? decodeTile(key.getTileIndex()) : loadTile(cache, key);
+            }
+        };
+    }
+
+    /**
+     * Caches the decoded thumbnails. Displayed bitmaps aren't reused for decoding
+     * while a cache is set, since they might still be referenced by the cache.
+     * If the cache has a {@link BitmapPool}, it's used unless another one is set
+     * with {@link #setBitmapPool(BitmapPool)}.
+     *
+     * @param cache    the cache to use, or null to disable caching
+     * @param sourceId an id that identifies the thumbnails of this loader inside the cache
+     */
+    public void setThumbnailCache(@Nullable ThumbnailCache cache, @NonNull String sourceId) {
+        this.thumbnailCache = cache;
+        this.sourceId = sourceId;
+        if (cache != null) {
+            spareBitmap = null;
+        }
+    }
+
+    /**
+     * @param bitmapPool the pool that provides the bitmaps for the decoded thumbnails,
+     *                   or null to use the pool of the cache, if any
+     */
+    public void setBitmapPool(@Nullable BitmapPool bitmapPool) {
+        this.bitmapPool = bitmapPool;
+    }
+
+    @NonNull
+    public ImageView getImageView() {
+        return imageView;
+    }
+
+    @Override
+    public void loadPreview(@NonNull final PreviewRequest request) {
+        final long tile = getTileIndex(request.getPosition(), request.getMax());
+        requestedTile = tile;
+        if (tile == NO_TILE || tile == displayedTile) {
+            request.finish();
+            return;
+        }
+        final ThumbnailCache cache = thumbnailCache;
+        if (cache != null) {
+            final Bitmap cachedBitmap = cache.getPinned(sourceId, tile);
+            if (cachedBitmap != null) {
+                display(cachedBitmap, tile, cache);
+                request.finish();
+                return;
+            }
+        }
+        if (mosaicDrawable != null) {
+            showMosaic(request.getPosition());
+        }
+        scheduler.execute(new PreviewDecodeScheduler.Task(this,
+                PreviewDecodeScheduler.PRIORITY_VISIBLE) {
+            @Override
+            public void run() {
+                try {
+                    decode(request, tile);
+                } catch (RuntimeException | Error e) {
+                    // Otherwise the bar would wait for this request forever
+                    request.finish();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean isStale() {
+                // Drop previews more than one tile away from the latest one requested
+                return request.isCancelled() || Math.abs(tile - requestedTile) > 1;
+            }
+
+            @Override
+            public void onDropped() {
+                request.finish();
+            }
+        });
+    }
+
+    /**
+     * Updates the latest requested tile, so the queued previews far from it are dropped
+     * instead of delaying the latest one
+     */
+    @Override
+    public void onPendingPositionChanged(long position, long max) {
+        requestedTile = getTileIndex(position, max);
+    }
+
+    /**
+     * Shows an upscaled cell of a low resolution mosaic while a thumbnail that isn't cached
+     * is loading, instead of the previous thumbnail.
+     * Must be called from the main thread.
+     *
+     * @param mosaic the mosaic for the whole timeline, or null to keep the previous thumbnail
+     */
+    public void setMosaic(@Nullable PreviewMosaic mosaic) {
+        if (mosaic == null) {
+            mosaicDrawable = null;
+        } else if (mosaicDrawable == null || mosaicDrawable.getMosaic() != mosaic) {
+            mosaicDrawable = new PreviewMosaic.CellDrawable(mosaic);
+        }
+    }
+
+    /**
+     * Decodes the tile of a position into the {@link ThumbnailCache} without displaying it.
+     * Prefetches only run when there are no visible previews to decode,
+     * and callers should cancel the ones that are no longer needed.
+     *
+     * @return the request of the prefetch, which can be cancelled,
+     * or null if there's no cache or nothing to prefetch
+     */
+    @Nullable
+    public PreviewRequest prefetch(long position, long max) {
+        return prefetch(position, max, null);
+    }
+
+    /**
+     * Same as {@link #prefetch(long, long)}, but notifies a callback when the prefetch finishes
+     *
+     * @param callback notified from any thread when the prefetch finishes or is cancelled.
+     *                 It's not called if this method returns null
+     */
+    @Nullable
+    public PreviewRequest prefetch(long position, long max,
+                                   @Nullable PreviewRequest.Callback callback) {
+        final ThumbnailCache cache = thumbnailCache;
+        if (cache == null) {
+            return null;
+        }
+        final long tile = getTileIndex(position, max);
+        if (tile == NO_TILE || tile == displayedTile) {
+            return null;
+        }
+        final PreviewRequest request = new PreviewRequest(position, max, callback);
+        scheduler.execute(new PreviewDecodeScheduler.Task(this,
+                PreviewDecodeScheduler.PRIORITY_PREFETCH) {
+            @Override
+            public void run() {
+                prefetchTile(request, tile);
+            }
+
+            @Override
+            public boolean isStale() {
+                return request.isCancelled();
+            }
+
+            @Override
+            public void onDropped() {
+                request.finish();
+            }
+        });
+        return request;
+    }
+
+    /**
+     * Stops decoding and releases any resources held by this loader.
+     * This loader can't be used after this call.
+     */
+    public void release() {
+        setPinnedBitmap(null, null);
+        scheduler.cancel(this);
+        scheduler.execute(new PreviewDecodeScheduler.Task(this,
+                PreviewDecodeScheduler.PRIORITY_VISIBLE) {
+            @Override
+            public void run() {
+                onRelease();
+            }
+        });
+        if (ownsScheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Called on the main thread to find the tile that should be displayed
+     *
+     * @param position the position to preview, between 0 and max
+     * @param max      the maximum possible position
+     * @return the index of the tile or {@link #NO_TILE} if there's nothing to display
+     */
+    protected abstract long getTileIndex(long position, long max);
+
+    /**
+     * Called on a background thread to decode a tile.
+     * Implementations should use {@link #decodeRegion(BitmapRegionDecoder, Rect)}
+     * or {@link #decodeByteArray(byte[], int, int, int, int)} so that bitmaps are reused.
+     *
+     * @param tileIndex the index returned by {@link #getTileIndex(long, long)}
+     * @return the decoded tile or null if it couldn't be decoded
+     */
+    @WorkerThread
+    @Nullable
+    protected abstract Bitmap decodeTile(long tileIndex) throws IOException;
+
+    /**
+     * Called on the background thread after {@link #release()}
+     */
+    @WorkerThread
+    protected void onRelease() {
+
+    }
+
+    /**
+     * Decodes a region into a reused bitmap, either the spare one or one from the pool
+     */
+    @WorkerThread
+    @Nullable
+    protected final Bitmap decodeRegion(@NonNull BitmapRegionDecoder decoder,
+                                        @NonNull Rect region) {
+        final boolean pooled = prepareReusableBitmap(region.width(), region.height());
+        final Bitmap reusable = options.inBitmap;
+        try {
+            return decoder.decodeRegion(region, options);
+        } catch (IllegalArgumentException e) {
+            // The reusable bitmap couldn't be used, so try again with a new one
+            onReusableBitmapRejected(reusable, pooled);
+            return decoder.decodeRegion(region, options);
+        } finally {
+            options.inBitmap = null;
+        }
+    }
+
+    /**
+     * Decodes an encoded image into a reused bitmap, either the spare one or one from the pool
+     *
+     * @param width  the width of the decoded image, or 0 if unknown
+     * @param height the height of the decoded image, or 0 if unknown
+     */
+    @WorkerThread
+    @Nullable
+    protected final Bitmap decodeByteArray(@NonNull byte[] data, int offset, int length,
+                                           int width, int height) {
+        final boolean pooled = width > 0 && height > 0
+                && prepareReusableBitmap(width, height);
+        final Bitmap reusable = options.inBitmap;
+        try {
+            return BitmapFactory.decodeByteArray(data, offset, length, options);
+        } catch (IllegalArgumentException e) {
+            // The reusable bitmap couldn't be used, so try again with a new one
+            onReusableBitmapRejected(reusable, pooled);
+            return BitmapFactory.decodeByteArray(data, offset, length, options);
+        } finally {
+            options.inBitmap = null;
+        }
+    }
+
+    /**
+     * Displays a tile that was added to the {@link ThumbnailCache} after being requested,
+     * if it's still the latest tile requested and it isn't displayed yet.
+     * Must be called from the main thread.
+     */
+    protected final void onTileAvailable(long tile) {
+        final ThumbnailCache cache = thumbnailCache;
+        if (cache == null || tile == NO_TILE || tile != requestedTile || tile == displayedTile) {
+            return;
+        }
+        final Bitmap cachedBitmap = cache.getPinned(sourceId, tile);
+        if (cachedBitmap != null) {
+            display(cachedBitmap, tile, cache);
+        }
+    }
+
+    @Nullable
+    protected final BitmapPool getBitmapPool() {
+        final BitmapPool pool = bitmapPool;
+        if (pool != null) {
+            return pool;
+        }
+        final ThumbnailCache cache = thumbnailCache;
+        return cache == null ? null : cache.getBitmapPool();
+    }
+
+    /**
+     * Sets the bitmap that the next decode should reuse
+     *
+     * @return true if the bitmap was taken from the pool
+     */
+    @WorkerThread
+    private boolean prepareReusableBitmap(int width, int height) {
+        final BitmapPool pool = getBitmapPool();
+        final Bitmap spare = thumbnailCache == null ? spareBitmap : null;
+        options.inBitmap = null;
+        if (spare != null && spare.getWidth() == width && spare.getHeight() == height) {
+            options.inBitmap = spare;
+            return false;
+        }
+        if (pool == null || !pool.prepareOptions(options, width, height)) {
+            return false;
+        }
+        // Never decode into the displayed bitmap
+        if (options.inBitmap == displayedBitmap) {
+            options.inBitmap = null;
+            return false;
+        }
+        return true;
+    }
+
+    @WorkerThread
+    private void onReusableBitmapRejected(@Nullable Bitmap reusable, boolean pooled) {
+        options.inBitmap = null;
+        final BitmapPool pool = getBitmapPool();
+        if (pooled && pool != null && reusable != null) {
+            pool.put(reusable);
+        }
+    }
+
+    @WorkerThread
+    private void decode(final PreviewRequest request, final long tile) {
+        if (request.isCancelled()) {
+            return;
+        }
+        final ThumbnailCache cache = thumbnailCache;
+        // The bitmap stays pinned until it's displayed, so it can't be reused before that
+        final Bitmap bitmap = getOrDecodeTile(cache, tile, true);
+        if (bitmap == null) {
+            request.finish();
+            return;
+        }
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!request.isCancelled()) {
+                    display(bitmap, tile, cache);
+                } else if (cache != null) {
+                    cache.unpin(bitmap);
+                }
+                request.finish();
+            }
+        });
+    }
+
+    @WorkerThread
+    private void prefetchTile(PreviewRequest request, long tile) {
+        try {
+            if (!request.isCancelled()) {
+                getOrDecodeTile(thumbnailCache, tile, false);
+            }
+        } finally {
+            request.finish();
+        }
+    }
+
+    /**
+     * Decodes a tile, unless a previous prefetch or another loader sharing the cache
+     * already added it to the cache or is decoding it
+     *
+     * @param pinned true to return the bitmap pinned in the cache
+     */
+    @WorkerThread
+    @Nullable
+    private Bitmap getOrDecodeTile(@Nullable ThumbnailCache cache, long tile, boolean pinned) {
+        try {
+            if (cache == null) {
+                return decodeTile(tile);
+            }
+            final ThumbnailKey key = new ThumbnailKey(sourceId, tile);
+            return pinned ? cache.getOrLoadPinned(key, tileLoader)
+                    : cache.getOrLoad(key, tileLoader);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads a tile that isn't in the memory cache,
+     * reading through to the {@link DiskThumbnailCache} if there's one
+     */
+    @WorkerThread
+    @Nullable
+    private Bitmap loadTile(ThumbnailCache cache, ThumbnailKey key) throws IOException {
+        final DiskThumbnailCache diskCache = cache.getDiskCache();
+        if (diskCache != null) {
+            final Bitmap storedBitmap = decodeStoredTile(diskCache, key);
+            if (storedBitmap != null) {
+                return storedBitmap;
+            }
+        }
+        final Bitmap bitmap = decodeTile(key.getTileIndex());
+        if (bitmap != null && diskCache != null) {
+            storeTile(cache, diskCache, key, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Writes a decoded tile to the {@link DiskThumbnailCache} once there are no visible previews
+     * to decode, so the encoding and the I/O don't delay the display.
+     * The bitmap is pinned until then, so it isn't reused while it's encoded.
+     */
+    @WorkerThread
+    private void storeTile(final ThumbnailCache cache, final DiskThumbnailCache diskCache,
+                           final ThumbnailKey key, final Bitmap bitmap) {
+        cache.pin(bitmap);
+        scheduler.execute(new PreviewDecodeScheduler.Task(this,
+                PreviewDecodeScheduler.PRIORITY_PREFETCH) {
+            @Override
+            public void run() {
+                try {
+                    diskCache.put(key, bitmap);
+                } finally {
+                    cache.unpin(bitmap);
+                }
+            }
+
+            @Override
+            public void onDropped() {
+                cache.unpin(bitmap);
+            }
+        });
+    }
+
+    /**
+     * Decodes a tile previously stored in the {@link DiskThumbnailCache}
+     */
+    @WorkerThread
+    @Nullable
+    private Bitmap decodeStoredTile(DiskThumbnailCache diskCache, ThumbnailKey key) {
+        final byte[] data = diskCache.get(key);
+        if (data == null) {
+            return null;
+        }
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap;
+        try {
+            bitmap = decodeByteArray(data, 0, data.length, options.outWidth, options.outHeight);
+        } catch (IllegalArgumentException e) {
+            bitmap = null;
+        }
+        if (bitmap == null) {
+            diskCache.remove(key);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Forgets the displayed tile, after another loader displayed something in the same view
+     */
+    void invalidateDisplayedTile() {
+        displayedTile = NO_TILE;
+    }
+
+    /**
+     * Takes over the pin of the bitmap displayed by another loader of the same view,
+     * so the other loader no longer keeps a bitmap pinned after it stopped displaying,
+     * and the bitmap still on screen is only unpinned once this loader replaces it
+     */
+    void takeDisplayedBitmap(@NonNull ImagePreviewLoader previousLoader) {
+        final ThumbnailCache cache = previousLoader.pinnedCache;
+        final Bitmap bitmap = previousLoader.pinnedBitmap;
+        previousLoader.pinnedCache = null;
+        previousLoader.pinnedBitmap = null;
+        previousLoader.invalidateDisplayedTile();
+        setPinnedBitmap(cache, bitmap);
+        invalidateDisplayedTile();
+    }
+
+    private void showMosaic(long position) {
+        final PreviewMosaic.CellDrawable drawable = mosaicDrawable;
+        drawable.setCell(drawable.getMosaic().getCell(position));
+        if (imageView.getDrawable() != drawable) {
+            imageView.setImageDrawable(drawable);
+        }
+        // The previous thumbnail is no longer visible, so it has to be displayed again
+        displayedTile = NO_TILE;
+    }
+
+    /**
+     * Displays the decoded bitmap and keeps the previous one for the next decode,
+     * unless the bitmaps are owned by the cache
+     *
+     * @param cache the cache where the bitmap is already pinned, or null if it isn't cached
+     */
+    private void display(Bitmap bitmap, long tile, @Nullable ThumbnailCache cache) {
+        imageView.setImageBitmap(bitmap);
+        if (bitmap != displayedBitmap) {
+            final Bitmap previousSpare = spareBitmap;
+            spareBitmap = thumbnailCache == null ? displayedBitmap : null;
+            displayedBitmap = bitmap;
+            // The previous spare wasn't reused, so give it back to the pool
+            final BitmapPool pool = getBitmapPool();
+            if (pool != null && previousSpare != null && previousSpare != bitmap) {
+                pool.put(previousSpare);
+            }
+        }
+        setPinnedBitmap(cache, bitmap);
+        displayedTile = tile;
+    }
+
+    /**
+     * Keeps the pin of the displayed bitmap and releases the previous one
+     */
+    private void setPinnedBitmap(@Nullable ThumbnailCache cache, @Nullable Bitmap bitmap) {
+        if (pinnedCache != null && pinnedBitmap != null) {
+            pinnedCache.unpin(pinnedBitmap);
+        }
+        pinnedCache = bitmap == null ? null : cache;
+        pinnedBitmap = cache == null ? null : bitmap;
+    }
+
+}
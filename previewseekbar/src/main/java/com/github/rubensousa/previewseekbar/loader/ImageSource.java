@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens the images referenced by a thumbnail track, like the ones in a {@link ThumbnailIndex}
+ */
+public interface ImageSource {
+
+    /**
+     * Called from a background thread to open an image.
+     * The returned stream is closed by the loader.
+     *
+     * @param uri the uri of the image, exactly as it appears in the thumbnail track.
+     *            Relative uris should be resolved against the location of the track
+     * @return a stream with the encoded image
+     * @throws IOException if the image doesn't exist or can't be read
+     */
+    @WorkerThread
+    @NonNull
+    InputStream openImage(@NonNull String uri) throws IOException;
+
+}
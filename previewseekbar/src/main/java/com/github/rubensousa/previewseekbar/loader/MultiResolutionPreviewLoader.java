@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.rubensousa.previewseekbar.AsyncPreviewLoader;
+import com.github.rubensousa.previewseekbar.PreviewRequest;
+import com.github.rubensousa.previewseekbar.PreviewSizeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks one of several thumbnail tracks with different resolutions,
+ * like 160p, 320p and 640p storyboards, based on the size of the preview view.
+ * <p>
+ * The smallest track that covers the preview is used, or the biggest one if none does,
+ * so small screens don't decode big thumbnails and big screens don't show blurry ones.
+ * The track is selected again whenever the size of the preview changes.
+ * <p>
+ * Every track is an {@link ImagePreviewLoader} displaying in the same view.
+ */
+public class MultiResolutionPreviewLoader implements AsyncPreviewLoader, PreviewSizeListener {
+
+    private final List<Track> tracks;
+    @Nullable
+    private Track selectedTrack;
+    private int previewWidth;
+    private int previewHeight;
+
+    public MultiResolutionPreviewLoader() {
+        this.tracks = new ArrayList<>();
+    }
+
+    /**
+     * @param width  the width of the thumbnails of this track, in pixels
+     * @param height the height of the thumbnails of this track, in pixels
+     * @param loader the loader of this track
+     */
+    public void addTrack(int width, int height, @NonNull ImagePreviewLoader loader) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Track size must be greater than 0");
+        }
+        tracks.add(new Track(width, height, loader));
+        selectTrack();
+    }
+
+    /**
+     * @return the loader of the selected track, or null if there are no tracks
+     */
+    @Nullable
+    public ImagePreviewLoader getSelectedLoader() {
+        return selectedTrack == null ? null : selectedTrack.loader;
+    }
+
+    @Override
+    public void loadPreview(@NonNull PreviewRequest request) {
+        if (selectedTrack == null) {
+            request.finish();
+            return;
+        }
+        selectedTrack.loader.loadPreview(request);
+    }
+
+    @Override
+    public void onPendingPositionChanged(long position, long max) {
+        if (selectedTrack != null) {
+            selectedTrack.loader.onPendingPositionChanged(position, max);
+        }
+    }
+
+    @Override
+    public void onPreviewSizeChanged(int width, int height) {
+        previewWidth = width;
+        previewHeight = height;
+        selectTrack();
+    }
+
+    /**
+     * Releases the loaders of every track
+     */
+    public void release() {
+        for (int i = 0; i < tracks.size(); i++) {
+            tracks.get(i).loader.release();
+        }
+        tracks.clear();
+        selectedTrack = null;
+    }
+
+    private void selectTrack() {
+        Track bestTrack = null;
+        Track biggestTrack = null;
+        for (int i = 0; i < tracks.size(); i++) {
+            final Track track = tracks.get(i);
+            if (biggestTrack == null || track.getArea() > biggestTrack.getArea()) {
+                biggestTrack = track;
+            }
+            if (track.width >= previewWidth && track.height >= previewHeight
+                    && (bestTrack == null || track.getArea() < bestTrack.getArea())) {
+                bestTrack = track;
+            }
+        }
+        final Track track = bestTrack != null ? bestTrack : biggestTrack;
+        if (track != selectedTrack) {
+            final Track previousTrack = selectedTrack;
+            selectedTrack = track;
+            if (track == null) {
+                return;
+            }
+            if (previousTrack != null) {
+                // The view is displaying a thumbnail of the previous track,
+                // which stays pinned until the new track displays another one
+                track.loader.takeDisplayedBitmap(previousTrack.loader);
+            } else {
+                track.loader.invalidateDisplayedTile();
+            }
+        }
+    }
+
+    private static class Track {
+
+        final int width;
+        final int height;
+        final ImagePreviewLoader loader;
+
+        Track(int width, int height, ImagePreviewLoader loader) {
+            this.width = width;
+            this.height = height;
+            this.loader = loader;
+        }
+
+        long getArea() {
+            return (long) width * height;
+        }
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import androidx.annotation.NonNull;
+
+import com.github.rubensousa.previewseekbar.BoundaryBucketPolicy;
+import com.github.rubensousa.previewseekbar.PreviewBucketPolicy;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reads a packed thumbnail container written by {@link PackedThumbnailWriter}.
+ * <p>
+ * The file is memory mapped, so reading a tile doesn't need any I/O syscall,
+ * and only the index is parsed when the file is opened. The layout is:
+ * <pre>
+ * magic "PSBT" | version (1 byte) | reserved (3 bytes)
+ * tile count (int) | tile width (int) | tile height (int) | index length (int)
+ * index: for each tile, varints of the start time delta, duration and encoded size
+ * data: the encoded tiles, concatenated in the same order
+ * </pre>
+ * All integers are big endian and times are in milliseconds.
+ */
+public final class PackedThumbnailFile implements Closeable {
+
+    public static final int NO_TILE = -1;
+
+    static final byte[] MAGIC = {'P', 'S', 'B', 'T'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    // Every index entry has three varints of at least one byte
+    static final int MIN_INDEX_ENTRY_SIZE = 3;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final int tileCount;
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private PackedThumbnailFile(RandomAccessFile file,
+                                MappedByteBuffer buffer,
+                                int tileWidth,
+                                int tileHeight,
+                                long[] startTimes,
+                                long[] endTimes,
+                                int[] offsets,
+                                int[] lengths) {
+        this.file = file;
+        this.buffer = buffer;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileCount = startTimes.length;
+        this.startTimes = startTimes;
+        this.endTimes = endTimes;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Maps a packed thumbnail file and parses its index
+     *
+     * @throws IOException if the file can't be read or isn't a valid container
+     */
+    @NonNull
+    public static PackedThumbnailFile open(@NonNull File file) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Packed thumbnail file is too big: " + channel.size());
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return parse(randomAccessFile, buffer);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("Invalid packed thumbnail file: " + file, e);
+        }
+    }
+
+    private static PackedThumbnailFile parse(RandomAccessFile file,
+                                             MappedByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Missing packed thumbnail header");
+        }
+        for (byte b : MAGIC) {
+            if (buffer.get() != b) {
+                throw new IOException("Not a packed thumbnail file");
+            }
+        }
+        final int version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported packed thumbnail version: " + version);
+        }
+        buffer.position(buffer.position() + 3);
+        final int tileCount = buffer.getInt();
+        final int tileWidth = buffer.getInt();
+        final int tileHeight = buffer.getInt();
+        final int indexLength = buffer.getInt();
+        if (tileCount < 0 || indexLength < 0
+                || HEADER_SIZE + (long) indexLength > buffer.limit()
+                || (long) tileCount * MIN_INDEX_ENTRY_SIZE > indexLength) {
+            // Checked before allocating the index, so a corrupted count can't exhaust the memory
+            throw new IOException("Corrupted packed thumbnail header");
+        }
+
+        final long[] startTimes = new long[tileCount];
+        final long[] endTimes = new long[tileCount];
+        final int[] offsets = new int[tileCount];
+        final int[] lengths = new int[tileCount];
+        long startTime = 0;
+        long offset = HEADER_SIZE + indexLength;
+        for (int i = 0; i < tileCount; i++) {
+            final long delta = readVarint(buffer);
+            final long duration = readVarint(buffer);
+            final long length = readVarint(buffer);
+            // A 10 byte varint can set the sign bit, so negative values and overflows
+            // are rejected here instead of breaking the lookups or the reads later
+            if (delta < 0 || duration <= 0 || length < 0
+                    || length > buffer.limit() - offset
+                    || startTime > Long.MAX_VALUE - delta
+                    || startTime + delta > Long.MAX_VALUE - duration) {
+                throw new IOException("Corrupted packed thumbnail index at tile " + i);
+            }
+            startTime += delta;
+            startTimes[i] = startTime;
+            endTimes[i] = startTime + duration;
+            offsets[i] = (int) offset;
+            lengths[i] = (int) length;
+            offset += length;
+        }
+        if (buffer.position() != HEADER_SIZE + indexLength) {
+            throw new IOException("Corrupted packed thumbnail index");
+        }
+        return new PackedThumbnailFile(file, buffer, tileWidth, tileHeight,
+                startTimes, endTimes, offsets, lengths);
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * @return the width of the tiles, or 0 if they don't share the same size
+     */
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * @return the height of the tiles, or 0 if they don't share the same size
+     */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    public long getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    public long getEndTime(int index) {
+        return endTimes[index];
+    }
+
+    /**
+     * @return the index of the tile that covers this position, or {@link #NO_TILE}
+     */
+    public int findTile(long position) {
+        int low = 0;
+        int high = tileCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (startTimes[mid] <= position) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0 || position >= endTimes[high]) {
+            return NO_TILE;
+        }
+        return high;
+    }
+
+    public int getTileLength(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * @return a read-only view of the encoded tile, backed by the mapped file
+     */
+    @NonNull
+    public ByteBuffer getTile(int index) {
+        final ByteBuffer tile = buffer.duplicate();
+        tile.limit(offsets[index] + lengths[index]);
+        tile.position(offsets[index]);
+        return tile.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the encoded tile into an array, without any I/O syscall.
+     * The array must have at least {@link #getTileLength(int)} bytes
+     *
+     * @return the number of bytes copied
+     */
+    public int readTile(int index, @NonNull byte[] destination) {
+        final int length = lengths[index];
+        final ByteBuffer source = buffer.duplicate();
+        source.position(offsets[index]);
+        source.get(destination, 0, length);
+        return length;
+    }
+
+    /**
+     * @return a {@link PreviewBucketPolicy} with one bucket for each tile
+     */
+    @NonNull
+    public PreviewBucketPolicy createBucketPolicy() {
+        return new BoundaryBucketPolicy(Arrays.copyOf(startTimes, tileCount));
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (shift < 64) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+
+/**
+ * An {@link ImagePreviewLoader} that displays the tiles of a {@link PackedThumbnailFile}.
+ * <p>
+ * Tiles are copied from the mapped file into a reused buffer and decoded from there,
+ * so loading a preview doesn't open files or issue any read syscall.
+ * Use {@link PackedThumbnailFile#createBucketPolicy()} as the bucket policy of the
+ * {@link com.github.rubensousa.previewseekbar.PreviewBar}.
+ */
+public class PackedThumbnailPreviewLoader extends ImagePreviewLoader {
+
+    private final PackedThumbnailFile thumbnailFile;
+
+    // Only accessed from the decoding thread
+    private byte[] tileBuffer;
+
+    /**
+     * @param imageView     the view that displays the thumbnails
+     * @param thumbnailFile the opened container.
+     *                      It's not closed by this loader, since it can be shared
+     */
+    public PackedThumbnailPreviewLoader(@NonNull ImageView imageView,
+                                        @NonNull PackedThumbnailFile thumbnailFile) {
+        super(imageView);
+        this.thumbnailFile = thumbnailFile;
+        this.tileBuffer = new byte[0];
+    }
+
+    @NonNull
+    public PackedThumbnailFile getThumbnailFile() {
+        return thumbnailFile;
+    }
+
+    @Override
+    protected long getTileIndex(long position, long max) {
+        final int tile = thumbnailFile.findTile(position);
+        if (tile == PackedThumbnailFile.NO_TILE) {
+            return NO_TILE;
+        }
+        return tile;
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    protected Bitmap decodeTile(long tileIndex) throws IOException {
+        final int tile = (int) tileIndex;
+        final int length = thumbnailFile.getTileLength(tile);
+        if (tileBuffer.length < length) {
+            tileBuffer = new byte[length];
+        }
+        thumbnailFile.readTile(tile, tileBuffer);
+        return decodeByteArray(tileBuffer, 0, length,
+                thumbnailFile.getTileWidth(), thumbnailFile.getTileHeight());
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes thumbnails into the packed container format read by {@link PackedThumbnailFile}.
+ * <p>
+ * Tiles must be added in ascending start time. The encoded tiles are streamed to a temporary
+ * file and only the index is kept in memory. The container only replaces the output file
+ * once {@link #finish()} succeeds, so readers never see a partial file.
+ * Closing the writer without finishing it discards everything written so far.
+ */
+public final class PackedThumbnailWriter implements Closeable {
+
+    private static final String DATA_SUFFIX = ".data";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File outputFile;
+    private final File dataFile;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final OutputStream dataStream;
+    private final ByteArrayOutputStream index;
+    private final ByteArrayOutputStream encodeBuffer;
+    private int tileCount;
+    private long lastStartTime;
+    private long dataLength;
+    private boolean closed;
+
+    /**
+     * @param outputFile the file that'll contain the packed thumbnails
+     * @param tileWidth  the width of every tile, or 0 if they have different sizes
+     * @param tileHeight the height of every tile, or 0 if they have different sizes
+     */
+    public PackedThumbnailWriter(@NonNull File outputFile,
+                                 int tileWidth,
+                                 int tileHeight) throws IOException {
+        this.outputFile = outputFile;
+        this.dataFile = new File(outputFile.getPath() + DATA_SUFFIX);
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.dataStream = new FileOutputStream(dataFile);
+        this.index = new ByteArrayOutputStream();
+        this.encodeBuffer = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Adds an already encoded tile, like a JPEG or WebP image
+     */
+    public void addTile(long startTime, long endTime,
+                        @NonNull byte[] data, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (endTime <= startTime || startTime < lastStartTime || startTime < 0) {
+            throw new IllegalArgumentException("Tiles must be added in ascending start time");
+        }
+        if (dataLength + length > Integer.MAX_VALUE) {
+            throw new IOException("Packed thumbnail file is too big");
+        }
+        dataStream.write(data, offset, length);
+        writeVarint(index, startTime - lastStartTime);
+        writeVarint(index, endTime - startTime);
+        writeVarint(index, length);
+        lastStartTime = startTime;
+        dataLength += length;
+        tileCount++;
+    }
+
+    /**
+     * Encodes and adds a tile
+     */
+    public void addTile(long startTime, long endTime, @NonNull Bitmap bitmap,
+                        @NonNull Bitmap.CompressFormat format, int quality) throws IOException {
+        encodeBuffer.reset();
+        if (!bitmap.compress(format, quality, encodeBuffer)) {
+            throw new IOException("Tile couldn't be encoded");
+        }
+        addTile(startTime, endTime, encodeBuffer.toByteArray(), 0, encodeBuffer.size());
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Writes the header and index, and replaces the output file with the finished container
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        closed = true;
+        dataStream.close();
+        final File tempFile = new File(outputFile.getPath() + TEMP_SUFFIX);
+        try {
+            final FileOutputStream fileOutputStream = new FileOutputStream(tempFile);
+            try {
+                final DataOutputStream output = new DataOutputStream(fileOutputStream);
+                output.write(PackedThumbnailFile.MAGIC);
+                output.writeByte(PackedThumbnailFile.VERSION);
+                output.write(new byte[3]);
+                output.writeInt(tileCount);
+                output.writeInt(tileWidth);
+                output.writeInt(tileHeight);
+                output.writeInt(index.size());
+                index.writeTo(output);
+                output.flush();
+                appendData(fileOutputStream.getChannel());
+                fileOutputStream.getFD().sync();
+            } finally {
+                fileOutputStream.close();
+            }
+            if (!tempFile.renameTo(outputFile)) {
+                throw new IOException("Couldn't replace " + outputFile);
+            }
+        } finally {
+            tempFile.delete();
+            dataFile.delete();
+        }
+    }
+
+    /**
+     * Discards the tiles written so far, unless {@link #finish()} was called
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        dataStream.close();
+        dataFile.delete();
+    }
+
+    private void appendData(FileChannel output) throws IOException {
+        final FileInputStream dataInput = new FileInputStream(dataFile);
+        try {
+            final FileChannel input = dataInput.getChannel();
+            long transferred = 0;
+            final long size = input.size();
+            while (transferred < size) {
+                transferred += input.transferTo(transferred, size - transferred, output);
+            }
+        } finally {
+            dataInput.close();
+        }
+    }
+
+    private static void writeVarint(OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Runs the decodes of one or more {@link ImagePreviewLoader}s with priorities,
+ * instead of in arrival order.
+ * <p>
+ * Visible previews always run first, newest first, so the preview the user is looking at
+ * doesn't wait behind older ones. Prefetches only run when there's no visible work.
+ * Queued tasks that became stale, like previews more than one bucket away
+ * from the latest requested position, are dropped without running.
+ * <p>
+ * The number of threads is configurable, but tasks of the same owner never run concurrently,
+ * so every loader can keep its decoding state without synchronization.
+ */
+public class PreviewDecodeScheduler {
+
+    public static final int PRIORITY_PREFETCH = 0;
+    public static final int PRIORITY_VISIBLE = 1;
+
+    private static final String TAG = "PreviewDecodeScheduler";
+
+    private final ArrayList<Task> queue;
+    private final IdentityHashMap<Object, Boolean> busyOwners;
+    private final ArrayList<Task> droppedTasks;
+    private long nextSequence;
+    private boolean shutdown;
+
+    /**
+     * @param threadCount the number of decoding threads
+     */
+    public PreviewDecodeScheduler(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be greater than 0");
+        }
+        this.queue = new ArrayList<>();
+        this.busyOwners = new IdentityHashMap<>();
+        this.droppedTasks = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runTasks();
+                }
+            }, "PreviewDecode-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues a task. If the scheduler was shut down, the task is dropped immediately
+     */
+    public void execute(@NonNull Task task) {
+        synchronized (this) {
+            if (!shutdown) {
+                task.sequence = nextSequence++;
+                queue.add(task);
+                notifyAll();
+                return;
+            }
+        }
+        task.onDropped();
+    }
+
+    /**
+     * Drops the queued tasks of an owner. A task of that owner that's already running isn't stopped
+     */
+    public void cancel(@NonNull Object owner) {
+        final ArrayList<Task> cancelledTasks = new ArrayList<>();
+        synchronized (this) {
+            for (int i = queue.size() - 1; i >= 0; i--) {
+                if (queue.get(i).owner == owner) {
+                    cancelledTasks.add(queue.remove(i));
+                }
+            }
+        }
+        for (int i = 0; i < cancelledTasks.size(); i++) {
+            cancelledTasks.get(i).onDropped();
+        }
+    }
+
+    /**
+     * Stops the threads once the queued tasks finish. New tasks are dropped
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void runTasks() {
+        while (true) {
+            final ArrayList<Task> dropped;
+            Task task;
+            synchronized (this) {
+                while (true) {
+                    task = pollTask();
+                    if (task != null || !droppedTasks.isEmpty()) {
+                        break;
+                    }
+                    if (shutdown && queue.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Keep running until shut down
+                    }
+                }
+                dropped = new ArrayList<>(droppedTasks);
+                droppedTasks.clear();
+            }
+            for (int i = 0; i < dropped.size(); i++) {
+                dropped.get(i).onDropped();
+            }
+            if (task == null) {
+                continue;
+            }
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                // A failed task must not stop the thread, or every queued decode would hang
+                Log.e(TAG, "Decode task failed", throwable);
+            } finally {
+                synchronized (this) {
+                    busyOwners.remove(task.owner);
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the stale tasks and returns the most urgent task whose owner isn't busy
+     */
+    private Task pollTask() {
+        Task bestTask = null;
+        int bestIndex = -1;
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            final Task task = queue.get(i);
+            if (task.isStale()) {
+                queue.remove(i);
+                droppedTasks.add(task);
+                if (bestIndex > i) {
+                    bestIndex--;
+                }
+                continue;
+            }
+            if (busyOwners.containsKey(task.owner)) {
+                continue;
+            }
+            if (bestTask == null || isMoreUrgent(task, bestTask)) {
+                bestTask = task;
+                bestIndex = i;
+            }
+        }
+        if (bestTask != null) {
+            queue.remove(bestIndex);
+            busyOwners.put(bestTask.owner, Boolean.TRUE);
+        }
+        return bestTask;
+    }
+
+    private static boolean isMoreUrgent(Task task, Task other) {
+        if (task.priority != other.priority) {
+            return task.priority > other.priority;
+        }
+        // Visible work is LIFO, prefetches keep their order since they're queued nearest first
+        if (task.priority == PRIORITY_VISIBLE) {
+            return task.sequence > other.sequence;
+        }
+        return task.sequence < other.sequence;
+    }
+
+    /**
+     * A unit of work of a {@link PreviewDecodeScheduler}
+     */
+    public abstract static class Task {
+
+        final Object owner;
+        final int priority;
+        long sequence;
+
+        /**
+         * @param owner    the owner of the task. Tasks of the same owner never run concurrently
+         * @param priority {@link #PRIORITY_VISIBLE} or {@link #PRIORITY_PREFETCH}
+         */
+        public Task(@NonNull Object owner, int priority) {
+            this.owner = owner;
+            this.priority = priority;
+        }
+
+        /**
+         * Runs the task on a decoding thread
+         */
+        public abstract void run();
+
+        /**
+         * Called while the task is queued, with the scheduler locked, so it must be cheap.
+         *
+         * @return true if the task is no longer needed and should be dropped
+         */
+        public boolean isStale() {
+            return false;
+        }
+
+        /**
+         * Called instead of {@link #run()} if the task is dropped
+         */
+        public void onDropped() {
+
+        }
+    }
+
+}
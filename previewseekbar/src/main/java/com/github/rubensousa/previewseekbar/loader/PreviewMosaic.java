@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A single low resolution image with a grid of tiny thumbnails for the whole timeline,
+ * ordered from left to right and top to bottom.
+ * <p>
+ * It's decoded once and kept in memory, so an {@link ImagePreviewLoader}
+ * can show an upscaled cell immediately while the full thumbnail is still loading.
+ */
+public class PreviewMosaic {
+
+    private final Bitmap bitmap;
+    private final int columns;
+    private final int cellCount;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final long cellDuration;
+
+    /**
+     * @param bitmap       the mosaic image
+     * @param columns      the number of columns of the grid
+     * @param rows         the number of rows of the grid
+     * @param cellCount    the number of used cells, which can be lower than columns * rows
+     * @param cellDuration the duration covered by each cell
+     */
+    public PreviewMosaic(@NonNull Bitmap bitmap, int columns, int rows,
+                         int cellCount, long cellDuration) {
+        if (columns <= 0 || rows <= 0 || cellCount <= 0 || cellCount > columns * rows) {
+            throw new IllegalArgumentException("Invalid mosaic grid");
+        }
+        if (cellDuration <= 0) {
+            throw new IllegalArgumentException("Cell duration must be greater than 0");
+        }
+        this.bitmap = bitmap;
+        this.columns = columns;
+        this.cellCount = cellCount;
+        this.cellWidth = bitmap.getWidth() / columns;
+        this.cellHeight = bitmap.getHeight() / rows;
+        this.cellDuration = cellDuration;
+    }
+
+    @NonNull
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * @return the cell that covers a position
+     */
+    public int getCell(long position) {
+        return (int) Math.min(Math.max(0, position / cellDuration), cellCount - 1);
+    }
+
+    /**
+     * Sets the region of a cell inside the mosaic image
+     */
+    public void getCellRect(int cell, @NonNull Rect outRect) {
+        final int left = (cell % columns) * cellWidth;
+        final int top = (cell / columns) * cellHeight;
+        outRect.set(left, top, left + cellWidth, top + cellHeight);
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Draws a single cell of a {@link PreviewMosaic}, scaled to the drawable bounds
+     */
+    static class CellDrawable extends Drawable {
+
+        private final PreviewMosaic mosaic;
+        private final Paint paint;
+        private final Rect cellRect;
+        private int cell = -1;
+
+        CellDrawable(PreviewMosaic mosaic) {
+            this.mosaic = mosaic;
+            this.paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+            this.cellRect = new Rect();
+        }
+
+        PreviewMosaic getMosaic() {
+            return mosaic;
+        }
+
+        void setCell(int cell) {
+            if (this.cell != cell) {
+                this.cell = cell;
+                mosaic.getCellRect(cell, cellRect);
+                invalidateSelf();
+            }
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            if (cell >= 0) {
+                canvas.drawBitmap(mosaic.bitmap, cellRect, getBounds(), paint);
+            }
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return mosaic.cellWidth;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return mosaic.cellHeight;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+            invalidateSelf();
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+            invalidateSelf();
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+
+}
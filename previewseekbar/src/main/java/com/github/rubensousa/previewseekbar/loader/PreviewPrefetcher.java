@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.github.rubensousa.previewseekbar.PreviewBar;
+import com.github.rubensousa.previewseekbar.PreviewRequest;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+
+/**
+ * Warms the {@link ThumbnailCache} of an {@link ImagePreviewLoader}
+ * with the thumbnails ahead of the scrubber, based on the scrub velocity and direction.
+ * <p>
+ * The faster the user scrubs, the more thumbnails are prefetched, up to a maximum.
+ * Prefetches are cancelled when the scrub direction reverses or the user stops scrubbing.
+ * <p>
+ * Register it with {@link PreviewBar#addOnScrubListener(PreviewBar.OnScrubListener)}.
+ * The loader must have a {@link ThumbnailCache}, otherwise nothing is prefetched.
+ */
+public class PreviewPrefetcher implements PreviewBar.OnScrubListener {
+
+    /**
+     * How far ahead in time, in milliseconds, we try to stay ahead of the scrubber
+     */
+    private static final long LOOKAHEAD_TIME_MS = 500;
+
+    /**
+     * Weight of the latest sample in the smoothed velocity
+     */
+    private static final float VELOCITY_SMOOTHING = 0.3f;
+
+    private final ImagePreviewLoader loader;
+    private final long thumbnailInterval;
+    private final int maxPrefetchCount;
+    private final PreviewRequest[] requests;
+    private final long[] requestBuckets;
+
+    private boolean hasPreviousMove;
+    private long previousProgress;
+    private long previousMoveTime;
+    private float velocity;
+    private int direction;
+    private long currentBucket = -1;
+
+    /**
+     * @param loader            the loader that decodes the prefetched thumbnails
+     * @param thumbnailInterval the duration covered by each thumbnail
+     * @param maxPrefetchCount  the maximum number of thumbnails prefetched ahead of the scrubber
+     */
+    public PreviewPrefetcher(@NonNull ImagePreviewLoader loader,
+                             long thumbnailInterval,
+                             int maxPrefetchCount) {
+        if (thumbnailInterval <= 0) {
+            throw new IllegalArgumentException("Thumbnail interval must be greater than 0");
+        }
+        if (maxPrefetchCount <= 0) {
+            throw new IllegalArgumentException("Max prefetch count must be greater than 0");
+        }
+        this.loader = loader;
+        this.thumbnailInterval = thumbnailInterval;
+        this.maxPrefetchCount = maxPrefetchCount;
+        this.requests = new PreviewRequest[maxPrefetchCount];
+        this.requestBuckets = new long[maxPrefetchCount];
+    }
+
+    /**
+     * @return the smoothed scrub velocity, in position units per millisecond
+     */
+    public float getVelocity() {
+        return velocity;
+    }
+
+    @Override
+    public void onScrubStart(PreviewBar previewBar) {
+        reset();
+    }
+
+    @Override
+    public void onScrubMove(PreviewBar previewBar, int progress, boolean fromUser) {
+        if (!fromUser) {
+            return;
+        }
+        final long now = SystemClock.uptimeMillis();
+        final long position = previewBar.getLongProgress();
+        if (!hasPreviousMove) {
+            hasPreviousMove = true;
+            previousProgress = position;
+            previousMoveTime = now;
+            return;
+        }
+        final long delta = position - previousProgress;
+        final long elapsed = now - previousMoveTime;
+        previousProgress = position;
+        previousMoveTime = now;
+        if (delta == 0) {
+            return;
+        }
+        if (elapsed > 0) {
+            final float sample = (float) delta / elapsed;
+            velocity = velocity + VELOCITY_SMOOTHING * (sample - velocity);
+        }
+        final int newDirection = delta > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            // Everything prefetched in the previous direction is now behind the scrubber
+            cancelAll();
+            direction = newDirection;
+            velocity = elapsed > 0 ? (float) delta / elapsed : 0f;
+        }
+        final long bucket = position / thumbnailInterval;
+        if (bucket == currentBucket) {
+            return;
+        }
+        currentBucket = bucket;
+        prefetch(bucket, previewBar.getLongMax());
+    }
+
+    @Override
+    public void onScrubStop(PreviewBar previewBar) {
+        reset();
+    }
+
+    /**
+     * Cancels all the prefetches that are still running
+     */
+    public void cancelAll() {
+        for (int i = 0; i < requests.length; i++) {
+            if (requests[i] != null) {
+                requests[i].cancel();
+                requests[i] = null;
+            }
+        }
+    }
+
+    private void prefetch(long bucket, long max) {
+        final long aheadDistance = (long) Math.abs(velocity * LOOKAHEAD_TIME_MS);
+        final int count = (int) Math.max(1, Math.min(maxPrefetchCount,
+                (aheadDistance + thumbnailInterval - 1) / thumbnailInterval));
+
+        // Cancel the prefetches outside of the new window
+        for (int i = 0; i < requests.length; i++) {
+            final PreviewRequest request = requests[i];
+            if (request == null) {
+                continue;
+            }
+            final long distance = (requestBuckets[i] - bucket) * direction;
+            if (distance <= 0 || distance > count) {
+                request.cancel();
+                requests[i] = null;
+            }
+        }
+
+        for (int k = 1; k <= count; k++) {
+            final long targetBucket = bucket + (long) k * direction;
+            final long position = targetBucket * thumbnailInterval;
+            if (position < 0 || position > max) {
+                break;
+            }
+            if (isRequested(targetBucket)) {
+                continue;
+            }
+            final int slot = findFreeSlot();
+            if (slot == -1) {
+                break;
+            }
+            final PreviewRequest request = loader.prefetch(position, max);
+            if (request != null) {
+                requests[slot] = request;
+                requestBuckets[slot] = targetBucket;
+            }
+        }
+    }
+
+    private boolean isRequested(long bucket) {
+        for (int i = 0; i < requests.length; i++) {
+            if (requests[i] != null && requestBuckets[i] == bucket) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findFreeSlot() {
+        for (int i = 0; i < requests.length; i++) {
+            if (requests[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reset() {
+        cancelAll();
+        hasPreviousMove = false;
+        velocity = 0f;
+        direction = 0;
+        currentBucket = -1;
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.rubensousa.previewseekbar.PreviewBar;
+import com.github.rubensousa.previewseekbar.PreviewRequest;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+
+/**
+ * Warms the {@link ThumbnailCache} of an {@link ImagePreviewLoader} before the user scrubs,
+ * so that the first previews are already decoded.
+ * <p>
+ * Work is only started when the main thread is idle, one thumbnail at a time,
+ * and the decoding happens in the scheduler of the loader, at prefetch priority.
+ * The thumbnails around the current position of the {@link PreviewBar} are warmed first,
+ * followed by thumbnails at evenly spaced points of the timeline.
+ * <p>
+ * Nothing is warmed while the preview is showing.
+ * The scheduler stops by itself when the system reports memory pressure,
+ * until {@link #start()} is called again.
+ */
+public class PreviewWarmUpScheduler implements MessageQueue.IdleHandler, ComponentCallbacks2,
+        PreviewRequest.Callback {
+
+    private static final int DEFAULT_NEIGHBOUR_COUNT = 3;
+    private static final int DEFAULT_SPACED_COUNT = 10;
+
+    private final Context context;
+    private final PreviewBar previewBar;
+    private final ImagePreviewLoader loader;
+    private final long thumbnailInterval;
+    private final Handler handler;
+    private final Runnable wakeUpRunnable;
+    private int neighbourCount = DEFAULT_NEIGHBOUR_COUNT;
+    private int spacedCount = DEFAULT_SPACED_COUNT;
+    private boolean started;
+    @Nullable
+    private PreviewRequest currentRequest;
+    private long currentBucket = -1;
+    private long currentMax = -1;
+    private int nextTarget;
+
+    /**
+     * @param context           a context used to listen for memory pressure
+     * @param previewBar        the bar that provides the current position
+     * @param loader            the loader that decodes the thumbnails.
+     *                          It must have a {@link ThumbnailCache}
+     * @param thumbnailInterval the duration covered by each thumbnail
+     */
+    public PreviewWarmUpScheduler(@NonNull Context context,
+                                  @NonNull PreviewBar previewBar,
+                                  @NonNull ImagePreviewLoader loader,
+                                  long thumbnailInterval) {
+        if (thumbnailInterval <= 0) {
+            throw new IllegalArgumentException("Thumbnail interval must be greater than 0");
+        }
+        this.context = context.getApplicationContext();
+        this.previewBar = previewBar;
+        this.loader = loader;
+        this.thumbnailInterval = thumbnailInterval;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.wakeUpRunnable = new Runnable() {
+            @Override
+            public void run() {
+                // Nothing to do, this just gives the message queue a chance to become idle again
+            }
+        };
+    }
+
+    /**
+     * @param count the number of thumbnails warmed before and after the current position
+     */
+    public void setNeighbourCount(int count) {
+        this.neighbourCount = Math.max(0, count);
+        nextTarget = 0;
+    }
+
+    /**
+     * @param count the number of thumbnails warmed at evenly spaced points of the timeline
+     */
+    public void setSpacedCount(int count) {
+        this.spacedCount = Math.max(0, count);
+        nextTarget = 0;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Starts warming thumbnails whenever the main thread is idle
+     */
+    @MainThread
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        context.registerComponentCallbacks(this);
+        Looper.myQueue().addIdleHandler(this);
+    }
+
+    /**
+     * Stops warming thumbnails and cancels the one being decoded
+     */
+    @MainThread
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        context.unregisterComponentCallbacks(this);
+        Looper.myQueue().removeIdleHandler(this);
+        handler.removeCallbacks(wakeUpRunnable);
+        if (currentRequest != null) {
+            currentRequest.cancel();
+            currentRequest = null;
+        }
+        currentBucket = -1;
+    }
+
+    @Override
+    public boolean queueIdle() {
+        if (!started) {
+            return false;
+        }
+        if (previewBar.isShowingPreview()
+                || (currentRequest != null && !currentRequest.isFinished())) {
+            return true;
+        }
+        currentRequest = null;
+        final long max = previewBar.getLongMax();
+        final long bucket = previewBar.getLongProgress() / thumbnailInterval;
+        if (bucket != currentBucket || max != currentMax) {
+            currentBucket = bucket;
+            currentMax = max;
+            nextTarget = 0;
+        }
+        final int targetCount = 1 + 2 * neighbourCount + spacedCount;
+        while (nextTarget < targetCount) {
+            final long position = getTargetPosition(nextTarget, max);
+            nextTarget++;
+            if (position < 0 || position > max) {
+                continue;
+            }
+            currentRequest = loader.prefetch(position, max, this);
+            if (currentRequest != null) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onPreviewRequestFinished(@NonNull PreviewRequest request) {
+        // Make sure queueIdle is called again even if nothing else is posted to the main thread
+        handler.post(wakeUpRunnable);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_LOW && level != TRIM_MEMORY_UI_HIDDEN) {
+            stopFromCallback();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        stopFromCallback();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+
+    }
+
+    /**
+     * Targets are ordered by distance to the current position:
+     * the current thumbnail, then its neighbours alternating between the next and previous ones,
+     * and then the evenly spaced thumbnails.
+     */
+    private long getTargetPosition(int target, long max) {
+        if (target == 0) {
+            return currentBucket * thumbnailInterval;
+        }
+        if (target <= 2 * neighbourCount) {
+            final long offset = (target + 1) / 2;
+            final long direction = target % 2 == 1 ? 1 : -1;
+            return (currentBucket + offset * direction) * thumbnailInterval;
+        }
+        final int spacedIndex = target - 2 * neighbourCount - 1;
+        return max * spacedIndex / Math.max(1, spacedCount);
+    }
+
+    private void stopFromCallback() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            stop();
+        } else {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    stop();
+                }
+            });
+        }
+    }
+
+}
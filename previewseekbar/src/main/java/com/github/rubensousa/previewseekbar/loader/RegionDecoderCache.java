@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.BitmapRegionDecoder;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Keeps the {@link BitmapRegionDecoder} of the last opened image,
+ * since consecutive thumbnails usually come from the same image.
+ * <p>
+ * Images can be identified by a string, like their uri, or by a number,
+ * like the index of a sprite sheet, which avoids creating a key for every thumbnail.
+ * <p>
+ * This class isn't thread safe and should only be used from the decoding thread.
+ */
+public final class RegionDecoderCache {
+
+    @Nullable
+    private BitmapRegionDecoder decoder;
+    @Nullable
+    private String key;
+    private boolean hasNumericKey;
+    private long numericKey;
+
+    /**
+     * @return the decoder of the image with this key, or null if it's not the current one
+     */
+    @WorkerThread
+    @Nullable
+    public BitmapRegionDecoder get(@NonNull String key) {
+        if (decoder != null && key.equals(this.key)) {
+            return decoder;
+        }
+        return null;
+    }
+
+    /**
+     * @return the decoder of the image with this key, or null if it's not the current one
+     */
+    @WorkerThread
+    @Nullable
+    public BitmapRegionDecoder get(long key) {
+        if (decoder != null && hasNumericKey && key == numericKey) {
+            return decoder;
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the current decoder with a new one for the image in the stream.
+     * The stream is closed by this method.
+     *
+     * @throws IOException if the image can't be read or decoded
+     */
+    @WorkerThread
+    @NonNull
+    public BitmapRegionDecoder open(@NonNull String key,
+                                    @NonNull InputStream inputStream) throws IOException {
+        release();
+        final BitmapRegionDecoder newDecoder = decode(inputStream);
+        if (newDecoder == null) {
+            throw new IOException("Image " + key + " couldn't be decoded");
+        }
+        this.decoder = newDecoder;
+        this.key = key;
+        return newDecoder;
+    }
+
+    /**
+     * Same as {@link #open(String, InputStream)}, for images identified by a number
+     *
+     * @throws IOException if the image can't be read or decoded
+     */
+    @WorkerThread
+    @NonNull
+    public BitmapRegionDecoder open(long key,
+                                    @NonNull InputStream inputStream) throws IOException {
+        release();
+        final BitmapRegionDecoder newDecoder = decode(inputStream);
+        if (newDecoder == null) {
+            throw new IOException("Image " + key + " couldn't be decoded");
+        }
+        this.decoder = newDecoder;
+        this.hasNumericKey = true;
+        this.numericKey = key;
+        return newDecoder;
+    }
+
+    @WorkerThread
+    public void release() {
+        if (decoder != null) {
+            decoder.recycle();
+            decoder = null;
+        }
+        key = null;
+        hasNumericKey = false;
+    }
+
+    @Nullable
+    private static BitmapRegionDecoder decode(@NonNull InputStream inputStream)
+            throws IOException {
+        try {
+            return BitmapRegionDecoder.newInstance(inputStream, false);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+}
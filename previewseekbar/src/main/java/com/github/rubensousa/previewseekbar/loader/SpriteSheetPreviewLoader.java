@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.github.rubensousa.previewseekbar.cache.BitmapPool;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link ImagePreviewLoader} that displays thumbnails from sprite sheets:
+ * images with a grid of thumbnails, each one covering the same interval.
+ * <p>
+ * Only the region of the needed thumbnail is decoded, using a {@link BitmapRegionDecoder},
+ * and the decoded pixels are written into reused bitmaps.
+ * <p>
+ * A {@link ThumbnailCache} can be set with {@link #setThumbnailCache(ThumbnailCache, String)}
+ * to avoid decoding the same thumbnail twice,
+ * and a {@link BitmapPool} with {@link #setBitmapPool(BitmapPool)} to decode into pooled bitmaps.
+ */
+public class SpriteSheetPreviewLoader extends ImagePreviewLoader {
+
+    private final SpriteSource spriteSource;
+    private final int columns;
+    private final int rows;
+    private final long tileInterval;
+
+    // Only accessed from the decoding thread
+    private final Rect region;
+    private final RegionDecoderCache regionDecoderCache;
+
+    /**
+     * @param imageView    the view that displays the thumbnails
+     * @param spriteSource the source of the sprite sheets
+     * @param columns      the number of thumbnails in each row of a sprite sheet
+     * @param rows         the number of thumbnails in each column of a sprite sheet
+     * @param tileInterval the duration covered by each thumbnail
+     */
+    public SpriteSheetPreviewLoader(@NonNull ImageView imageView,
+                                    @NonNull SpriteSource spriteSource,
+                                    int columns,
+                                    int rows,
+                                    long tileInterval) {
+        super(imageView);
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("The sprite grid must have at least one tile");
+        }
+        if (tileInterval <= 0) {
+            throw new IllegalArgumentException("Tile interval must be greater than 0");
+        }
+        this.spriteSource = spriteSource;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileInterval = tileInterval;
+        this.region = new Rect();
+        this.regionDecoderCache = new RegionDecoderCache();
+    }
+
+    public long getTileInterval() {
+        return tileInterval;
+    }
+
+    @Override
+    protected long getTileIndex(long position, long max) {
+        if (position < 0) {
+            return NO_TILE;
+        }
+        return position / tileInterval;
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    protected Bitmap decodeTile(long tileIndex) throws IOException {
+        final int tilesPerSheet = columns * rows;
+        final int sheet = (int) (tileIndex / tilesPerSheet);
+        final int tileInSheet = (int) (tileIndex % tilesPerSheet);
+        final BitmapRegionDecoder decoder = getRegionDecoder(sheet);
+        final int tileWidth = decoder.getWidth() / columns;
+        final int tileHeight = decoder.getHeight() / rows;
+        final int left = (tileInSheet % columns) * tileWidth;
+        final int top = (tileInSheet / columns) * tileHeight;
+        region.set(left, top, left + tileWidth, top + tileHeight);
+        return decodeRegion(decoder, region);
+    }
+
+    @WorkerThread
+    @Override
+    protected void onRelease() {
+        regionDecoderCache.release();
+    }
+
+    @WorkerThread
+    private BitmapRegionDecoder getRegionDecoder(int sheet) throws IOException {
+        final BitmapRegionDecoder decoder = regionDecoderCache.get(sheet);
+        if (decoder != null) {
+            return decoder;
+        }
+        return regionDecoderCache.open(sheet, spriteSource.openSpriteSheet(sheet));
+    }
+
+    /**
+     * Provides the sprite sheets for a {@link SpriteSheetPreviewLoader}
+     */
+    public interface SpriteSource {
+
+        /**
+         * Called from a background thread to open a sprite sheet.
+         * The returned stream is closed by the loader.
+         *
+         * @param index the index of the sprite sheet.
+         *              Media with a single sprite sheet only needs to handle index 0
+         * @return a stream with the encoded sprite sheet
+         * @throws IOException if the sprite sheet doesn't exist or can't be read
+         */
+        @WorkerThread
+        @NonNull
+        InputStream openSpriteSheet(int index) throws IOException;
+    }
+
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.github.rubensousa.previewseekbar.cache.DiskThumbnailCache;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailKey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates thumbnails for local media that doesn't have any storyboard,
+ * by extracting a frame at every interval of the timeline.
+ * <p>
+ * Frames are extracted from the nearest sync frame, which avoids decoding
+ * the frames between key frames, and are downscaled to the preview size.
+ * The work is split across a bounded number of threads, each with its own
+ * {@link MediaMetadataRetriever}, and every thumbnail is handed to a {@link Sink}.
+ * <p>
+ * The {@link Listener} is notified on the main thread after each thumbnail,
+ * so the preview can be filled in while the generation is still running.
+ */
+public class ThumbnailGenerator {
+
+    private static final int DEFAULT_THREAD_COUNT = 2;
+
+    private final Context context;
+    private final Uri uri;
+    private final long interval;
+    private final int width;
+    private final int height;
+    private final Sink sink;
+    private final Handler handler;
+    private final AtomicInteger nextIndex;
+    private final AtomicInteger generatedCount;
+    private final AtomicInteger activeWorkers;
+    private int threadCount;
+    @Nullable
+    private Listener listener;
+    @Nullable
+    private ExecutorService executor;
+    private volatile boolean cancelled;
+    private volatile boolean failed;
+    private volatile int totalCount;
+
+    /**
+     * @param context  a context used to open the media
+     * @param uri      the uri of a local file or content provider
+     * @param interval the duration covered by each thumbnail, in milliseconds
+     * @param width    the maximum width of the thumbnails
+     * @param height   the maximum height of the thumbnails
+     * @param sink     where the thumbnails are written
+     */
+    public ThumbnailGenerator(@NonNull Context context,
+                              @NonNull Uri uri,
+                              long interval,
+                              int width,
+                              int height,
+                              @NonNull Sink sink) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be greater than 0");
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Thumbnail size must be greater than 0");
+        }
+        this.context = context.getApplicationContext();
+        this.uri = uri;
+        this.interval = interval;
+        this.width = width;
+        this.height = height;
+        this.sink = sink;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.nextIndex = new AtomicInteger();
+        this.generatedCount = new AtomicInteger();
+        this.activeWorkers = new AtomicInteger();
+        this.threadCount = Math.min(DEFAULT_THREAD_COUNT,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threadCount the number of threads extracting frames. Default is 2
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be greater than 0");
+        }
+        this.threadCount = threadCount;
+    }
+
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Starts the generation. A generator can only be started once
+     */
+    @MainThread
+    public void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Generator was already started");
+        }
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        executor = executorService;
+        activeWorkers.set(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final boolean readsDuration = i == 0;
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    generate(readsDuration);
+                }
+            });
+        }
+        executorService.shutdown();
+    }
+
+    /**
+     * Stops the generation. The thumbnails already generated are kept in the sink
+     */
+    @MainThread
+    public void cancel() {
+        cancelled = true;
+        listener = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @MainThread
+    public boolean isRunning() {
+        return executor != null && !executor.isTerminated();
+    }
+
+    @WorkerThread
+    private void generate(boolean readsDuration) {
+        final MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(context, uri);
+            if (readsDuration) {
+                readTotalCount(retriever);
+            } else {
+                waitForTotalCount();
+            }
+            int index = nextIndex.getAndIncrement();
+            while (index < totalCount && !cancelled && !failed) {
+                final long startTime = index * interval;
+                final Bitmap bitmap = extractFrame(retriever, startTime);
+                sink.onThumbnail(index, startTime, startTime + interval, bitmap);
+                notifyThumbnailGenerated(index, generatedCount.incrementAndGet());
+                index = nextIndex.getAndIncrement();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            // Cancelled
+        } finally {
+            releaseRetriever(retriever);
+            onWorkerFinished();
+        }
+    }
+
+    private static void releaseRetriever(MediaMetadataRetriever retriever) {
+        try {
+            retriever.release();
+        } catch (IOException e) {
+            // Nothing else to release
+        }
+    }
+
+    private void readTotalCount(MediaMetadataRetriever retriever) throws IOException {
+        final String durationValue = retriever.extractMetadata(
+                MediaMetadataRetriever.METADATA_KEY_DURATION);
+        final long duration;
+        try {
+            duration = durationValue == null ? 0 : Long.parseLong(durationValue);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid duration " + durationValue);
+        }
+        if (duration <= 0) {
+            throw new IOException("Unknown duration for " + uri);
+        }
+        synchronized (this) {
+            totalCount = (int) Math.min(Integer.MAX_VALUE, (duration + interval - 1) / interval);
+            notifyAll();
+        }
+    }
+
+    private void waitForTotalCount() throws InterruptedException {
+        synchronized (this) {
+            while (totalCount == 0 && !cancelled && !failed) {
+                wait();
+            }
+        }
+    }
+
+    @Nullable
+    private Bitmap extractFrame(MediaMetadataRetriever retriever, long positionMs) {
+        final long positionUs = positionMs * 1000;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+            return retriever.getScaledFrameAtTime(positionUs,
+                    MediaMetadataRetriever.OPTION_CLOSEST_SYNC, width, height);
+        }
+        final Bitmap frame = retriever.getFrameAtTime(positionUs,
+                MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+        if (frame == null) {
+            return null;
+        }
+        final float scale = Math.min(width / (float) frame.getWidth(),
+                height / (float) frame.getHeight());
+        if (scale >= 1f) {
+            return frame;
+        }
+        final Bitmap scaledFrame = Bitmap.createScaledBitmap(frame,
+                Math.max(1, Math.round(frame.getWidth() * scale)),
+                Math.max(1, Math.round(frame.getHeight() * scale)), true);
+        if (scaledFrame != frame) {
+            frame.recycle();
+        }
+        return scaledFrame;
+    }
+
+    private void fail(final Exception exception) {
+        synchronized (this) {
+            if (cancelled || failed) {
+                return;
+            }
+            failed = true;
+            // Wakes up the workers waiting for the duration
+            notifyAll();
+        }
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (listener != null) {
+                    listener.onGenerationFailed(exception);
+                }
+            }
+        });
+    }
+
+    private void onWorkerFinished() {
+        if (activeWorkers.decrementAndGet() != 0) {
+            return;
+        }
+        if (cancelled || failed) {
+            sink.onCancelled();
+            return;
+        }
+        try {
+            sink.onFinished();
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (listener != null) {
+                    listener.onGenerationFinished();
+                }
+            }
+        });
+    }
+
+    private void notifyThumbnailGenerated(final int index, final int count) {
+        final int total = totalCount;
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (listener != null) {
+                    listener.onThumbnailGenerated(index, count, total);
+                }
+            }
+        });
+    }
+
+    /**
+     * Notified on the main thread about the progress of a {@link ThumbnailGenerator}
+     */
+    public interface Listener {
+
+        /**
+         * @param index          the index of the thumbnail,
+         *                       which covers the positions from index * interval
+         * @param generatedCount the number of thumbnails generated so far
+         * @param totalCount     the number of thumbnails that will be generated
+         */
+        void onThumbnailGenerated(long index, int generatedCount, int totalCount);
+
+        void onGenerationFinished();
+
+        void onGenerationFailed(@NonNull Exception exception);
+    }
+
+    /**
+     * Receives the generated thumbnails. It's called from multiple threads,
+     * so implementations must be thread safe.
+     */
+    public interface Sink {
+
+        /**
+         * @param index     the index of the thumbnail. Thumbnails can arrive out of order
+         * @param startTime the first position covered by the thumbnail
+         * @param endTime   the first position after the thumbnail
+         * @param bitmap    the thumbnail, or null if the frame couldn't be extracted
+         */
+        @WorkerThread
+        void onThumbnail(long index, long startTime, long endTime,
+                         @Nullable Bitmap bitmap) throws IOException;
+
+        /**
+         * Called once every thumbnail was written
+         */
+        @WorkerThread
+        void onFinished() throws IOException;
+
+        /**
+         * Called instead of {@link #onFinished()} if the generation was cancelled or failed
+         */
+        @WorkerThread
+        void onCancelled();
+    }
+
+    /**
+     * Writes the thumbnails to a {@link ThumbnailCache}, and its {@link DiskThumbnailCache} if set,
+     * under the tile index used by {@link GeneratedPreviewLoader}.
+     * <p>
+     * The memory cache should be big enough to keep all the thumbnails,
+     * unless a disk cache is used, otherwise the evicted ones won't be displayed.
+     */
+    public static class CacheSink implements Sink {
+
+        private final ThumbnailCache cache;
+        private final String sourceId;
+
+        public CacheSink(@NonNull ThumbnailCache cache, @NonNull String sourceId) {
+            this.cache = cache;
+            this.sourceId = sourceId;
+        }
+
+        @Override
+        public void onThumbnail(long index, long startTime, long endTime,
+                                @Nullable Bitmap bitmap) {
+            if (bitmap == null) {
+                return;
+            }
+            final ThumbnailKey key = new ThumbnailKey(sourceId, index);
+            cache.put(key, bitmap);
+            final DiskThumbnailCache diskCache = cache.getDiskCache();
+            if (diskCache != null) {
+                diskCache.put(key, bitmap);
+            }
+        }
+
+        @Override
+        public void onFinished() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void onCancelled() {
+            // Keep the thumbnails already generated
+        }
+    }
+
+    /**
+     * Encodes the thumbnails into a {@link PackedThumbnailWriter}.
+     * Thumbnails that arrive out of order are kept encoded until the previous ones are written.
+     * The container is only written if the generation finishes.
+     */
+    public static class PackedSink implements Sink {
+
+        private final PackedThumbnailWriter writer;
+        private final Bitmap.CompressFormat format;
+        private final int quality;
+        private final SparseArray<byte[]> pendingTiles;
+        private final ByteArrayOutputStream encodeBuffer;
+        private int nextIndex;
+
+        public PackedSink(@NonNull PackedThumbnailWriter writer,
+                          @NonNull Bitmap.CompressFormat format,
+                          int quality) {
+            this.writer = writer;
+            this.format = format;
+            this.quality = quality;
+            this.pendingTiles = new SparseArray<>();
+            this.encodeBuffer = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public synchronized void onThumbnail(long index, long startTime, long endTime,
+                                             @Nullable Bitmap bitmap) throws IOException {
+            byte[] data = null;
+            if (bitmap != null) {
+                encodeBuffer.reset();
+                if (bitmap.compress(format, quality, encodeBuffer)) {
+                    data = encodeBuffer.toByteArray();
+                }
+                bitmap.recycle();
+            }
+            // An empty array marks a missing thumbnail
+            pendingTiles.put((int) index, data == null ? new byte[0] : data);
+            final long interval = endTime - startTime;
+            byte[] nextData = pendingTiles.get(nextIndex);
+            while (nextData != null) {
+                pendingTiles.remove(nextIndex);
+                if (nextData.length > 0) {
+                    writer.addTile(nextIndex * interval, (nextIndex + 1) * interval,
+                            nextData, 0, nextData.length);
+                }
+                nextIndex++;
+                nextData = pendingTiles.get(nextIndex);
+            }
+        }
+
+        @Override
+        public synchronized void onFinished() throws IOException {
+            writer.finish();
+        }
+
+        @Override
+        public synchronized void onCancelled() {
+            pendingTiles.clear();
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Nothing was written
+            }
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+import com.github.rubensousa.previewseekbar.BoundaryBucketPolicy;
+import com.github.rubensousa.previewseekbar.PreviewBucketPolicy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A compact index of thumbnails, sorted by their start time.
+ * <p>
+ * Times are stored in primitive arrays and each tile rectangle is packed into a single long,
+ * so that indexes with thousands of thumbnails stay small.
+ * Lookups by position are done with a binary search.
+ */
+public final class ThumbnailIndex {
+
+    public static final int NO_THUMBNAIL = -1;
+
+    private static final long NO_REGION = -1;
+
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final long[] regions;
+    private final int[] imageIndices;
+    private final String[] images;
+    private final int size;
+
+    private ThumbnailIndex(long[] startTimes,
+                           long[] endTimes,
+                           long[] regions,
+                           int[] imageIndices,
+                           String[] images,
+                           int size) {
+        this.startTimes = startTimes;
+        this.endTimes = endTimes;
+        this.regions = regions;
+        this.imageIndices = imageIndices;
+        this.images = images;
+        this.size = size;
+    }
+
+    /**
+     * @return the number of thumbnails
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the index of the thumbnail that covers this position,
+     * or {@link #NO_THUMBNAIL} if there's none
+     */
+    public int findThumbnail(long position) {
+        int low = 0;
+        int high = size - 1;
+        // Find the last thumbnail that starts before or at the position
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (startTimes[mid] <= position) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0 || position >= endTimes[high]) {
+            return NO_THUMBNAIL;
+        }
+        return high;
+    }
+
+    public long getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    public long getEndTime(int index) {
+        return endTimes[index];
+    }
+
+    /**
+     * @return the uri of the image that contains this thumbnail, exactly as it was indexed
+     */
+    @NonNull
+    public String getImageUri(int index) {
+        return images[imageIndices[index]];
+    }
+
+    /**
+     * @return true if the thumbnail is a region of its image,
+     * or false if it's the whole image
+     */
+    public boolean hasRegion(int index) {
+        return regions[index] != NO_REGION;
+    }
+
+    /**
+     * Sets the region of the thumbnail inside its image. Only valid if {@link #hasRegion(int)}
+     */
+    public void getRegion(int index, @NonNull Rect outRect) {
+        final long region = regions[index];
+        final int x = (int) ((region >>> 48) & 0xFFFF);
+        final int y = (int) ((region >>> 32) & 0xFFFF);
+        final int width = (int) ((region >>> 16) & 0xFFFF);
+        final int height = (int) (region & 0xFFFF);
+        outRect.set(x, y, x + width, y + height);
+    }
+
+    /**
+     * @return a {@link PreviewBucketPolicy} with one bucket for each thumbnail
+     */
+    @NonNull
+    public PreviewBucketPolicy createBucketPolicy() {
+        return new BoundaryBucketPolicy(Arrays.copyOf(startTimes, size));
+    }
+
+    /**
+     * Builds a {@link ThumbnailIndex}. Thumbnails must be added in ascending start time.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int MAX_REGION_VALUE = 0xFFFF;
+
+        private final HashMap<String, Integer> imageIndexMap;
+        private String[] images;
+        private int imageCount;
+        private long[] startTimes;
+        private long[] endTimes;
+        private long[] regions;
+        private int[] imageIndices;
+        private int size;
+
+        public Builder() {
+            imageIndexMap = new HashMap<>();
+            images = new String[INITIAL_CAPACITY];
+            startTimes = new long[INITIAL_CAPACITY];
+            endTimes = new long[INITIAL_CAPACITY];
+            regions = new long[INITIAL_CAPACITY];
+            imageIndices = new int[INITIAL_CAPACITY];
+        }
+
+        /**
+         * Adds a thumbnail that covers the whole image
+         */
+        @NonNull
+        public Builder add(long startTime, long endTime, @NonNull String imageUri) {
+            return add(startTime, endTime, imageUri, NO_REGION);
+        }
+
+        /**
+         * Adds a thumbnail that's a region of an image
+         */
+        @NonNull
+        public Builder add(long startTime, long endTime, @NonNull String imageUri,
+                           int x, int y, int width, int height) {
+            if (x < 0 || y < 0 || width <= 0 || height <= 0
+                    || x > MAX_REGION_VALUE || y > MAX_REGION_VALUE
+                    || width > MAX_REGION_VALUE || height > MAX_REGION_VALUE) {
+                throw new IllegalArgumentException("Invalid thumbnail region: "
+                        + x + "," + y + "," + width + "," + height);
+            }
+            final long region = ((long) x << 48)
+                    | ((long) y << 32)
+                    | ((long) width << 16)
+                    | height;
+            return add(startTime, endTime, imageUri, region);
+        }
+
+        @NonNull
+        public ThumbnailIndex build() {
+            return new ThumbnailIndex(
+                    Arrays.copyOf(startTimes, size),
+                    Arrays.copyOf(endTimes, size),
+                    Arrays.copyOf(regions, size),
+                    Arrays.copyOf(imageIndices, size),
+                    Arrays.copyOf(images, imageCount),
+                    size);
+        }
+
+        private Builder add(long startTime, long endTime, String imageUri, long region) {
+            if (endTime <= startTime) {
+                throw new IllegalArgumentException("End time must be after the start time");
+            }
+            if (size > 0 && startTime < startTimes[size - 1]) {
+                throw new IllegalArgumentException("Thumbnails must be sorted by start time");
+            }
+            if (size == startTimes.length) {
+                final int capacity = size * 2;
+                startTimes = Arrays.copyOf(startTimes, capacity);
+                endTimes = Arrays.copyOf(endTimes, capacity);
+                regions = Arrays.copyOf(regions, capacity);
+                imageIndices = Arrays.copyOf(imageIndices, capacity);
+            }
+            startTimes[size] = startTime;
+            endTimes[size] = endTime;
+            regions[size] = region;
+            imageIndices[size] = getImageIndex(imageUri);
+            size++;
+            return this;
+        }
+
+        /**
+         * Thumbnails usually share a few sprite images, so each uri is only stored once
+         */
+        private int getImageIndex(String imageUri) {
+            final Integer index = imageIndexMap.get(imageUri);
+            if (index != null) {
+                return index;
+            }
+            if (imageCount == images.length) {
+                images = Arrays.copyOf(images, imageCount * 2);
+            }
+            images[imageCount] = imageUri;
+            imageIndexMap.put(imageUri, imageCount);
+            imageCount++;
+            return imageCount - 1;
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+
+/**
+ * An {@link ImagePreviewLoader} that displays the thumbnails of a WebVTT thumbnail track,
+ * parsed with {@link WebVttThumbnailParser}.
+ * <p>
+ * Use {@link ThumbnailIndex#createBucketPolicy()} as the bucket policy of the
+ * {@link com.github.rubensousa.previewseekbar.PreviewBar}
+ * so that previews are only requested when the position moves to a different cue.
+ */
+public class WebVttPreviewLoader extends ImagePreviewLoader {
+
+    private final ThumbnailIndex thumbnailIndex;
+    private final ImageSource imageSource;
+
+    // Only accessed from the decoding thread
+    private final Rect region;
+    private final RegionDecoderCache regionDecoderCache;
+
+    /**
+     * @param imageView      the view that displays the thumbnails
+     * @param thumbnailIndex the index parsed from the thumbnail track
+     * @param imageSource    the source of the images referenced by the track
+     */
+    public WebVttPreviewLoader(@NonNull ImageView imageView,
+                               @NonNull ThumbnailIndex thumbnailIndex,
+                               @NonNull ImageSource imageSource) {
+        super(imageView);
+        this.thumbnailIndex = thumbnailIndex;
+        this.imageSource = imageSource;
+        this.region = new Rect();
+        this.regionDecoderCache = new RegionDecoderCache();
+    }
+
+    @NonNull
+    public ThumbnailIndex getThumbnailIndex() {
+        return thumbnailIndex;
+    }
+
+    @Override
+    protected long getTileIndex(long position, long max) {
+        final int index = thumbnailIndex.findThumbnail(position);
+        if (index == ThumbnailIndex.NO_THUMBNAIL) {
+            return NO_TILE;
+        }
+        return index;
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    protected Bitmap decodeTile(long tileIndex) throws IOException {
+        final int index = (int) tileIndex;
+        final String imageUri = thumbnailIndex.getImageUri(index);
+        BitmapRegionDecoder decoder = regionDecoderCache.get(imageUri);
+        if (decoder == null) {
+            decoder = regionDecoderCache.open(imageUri, imageSource.openImage(imageUri));
+        }
+        if (thumbnailIndex.hasRegion(index)) {
+            thumbnailIndex.getRegion(index, region);
+        } else {
+            region.set(0, 0, decoder.getWidth(), decoder.getHeight());
+        }
+        return decodeRegion(decoder, region);
+    }
+
+    @WorkerThread
+    @Override
+    protected void onRelease() {
+        regionDecoderCache.release();
+    }
+
+}
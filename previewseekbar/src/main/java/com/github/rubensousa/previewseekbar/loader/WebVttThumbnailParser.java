@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Parses WebVTT thumbnail tracks into a {@link ThumbnailIndex}.
+ * <p>
+ * Each cue of these tracks points to an image, optionally with a region of a sprite:
+ * <pre>
+ * 00:00:05.000 --> 00:00:10.000
+ * sprite_0.jpg#xywh=160,0,160,90
+ * </pre>
+ * The file is read line by line, so the whole track is never kept in memory.
+ * Times are stored in milliseconds and image uris are indexed exactly as they appear,
+ * so relative uris should be resolved by the {@link ImageSource}.
+ */
+public final class WebVttThumbnailParser {
+
+    private static final String HEADER = "WEBVTT";
+    private static final String CUE_ARROW = "-->";
+    private static final String REGION_FRAGMENT = "#xywh=";
+    private static final String PIXEL_UNIT = "pixel:";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private WebVttThumbnailParser() {
+
+    }
+
+    /**
+     * Parses a WebVTT thumbnail track encoded in UTF-8. The stream isn't closed
+     *
+     * @throws IOException if the stream can't be read or isn't a valid WebVTT file
+     */
+    @NonNull
+    public static ThumbnailIndex parse(@NonNull InputStream inputStream) throws IOException {
+        return parse(new InputStreamReader(inputStream, Charset.forName("UTF-8")));
+    }
+
+    /**
+     * Parses a WebVTT thumbnail track. The reader isn't closed
+     *
+     * @throws IOException if the reader fails or the content isn't a valid WebVTT file
+     */
+    @NonNull
+    public static ThumbnailIndex parse(@NonNull Reader reader) throws IOException {
+        final BufferedReader bufferedReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader : new BufferedReader(reader);
+        final ThumbnailIndex.Builder builder = new ThumbnailIndex.Builder();
+
+        String line = bufferedReader.readLine();
+        if (line != null && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+            line = line.substring(1);
+        }
+        if (line == null || !line.startsWith(HEADER)) {
+            throw new IOException("Missing WEBVTT header");
+        }
+
+        while ((line = bufferedReader.readLine()) != null) {
+            final int arrowIndex = line.indexOf(CUE_ARROW);
+            // Skip cue identifiers, comments and any other blocks
+            if (arrowIndex == -1) {
+                continue;
+            }
+            final long startTime = parseTimestamp(line, 0, arrowIndex);
+            final long endTime = parseTimestamp(line, arrowIndex + CUE_ARROW.length(),
+                    line.length());
+            final String payload = readPayload(bufferedReader);
+            // A cue without a payload has nothing to display, but the next ones might
+            if (payload == null) {
+                continue;
+            }
+            addCue(builder, startTime, endTime, payload);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the line after the cue timings, or null if the cue has no payload,
+     * since a blank line ends the cue
+     */
+    private static String readPayload(BufferedReader reader) throws IOException {
+        final String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        final String payload = line.trim();
+        return payload.isEmpty() ? null : payload;
+    }
+
+    private static void addCue(ThumbnailIndex.Builder builder,
+                               long startTime,
+                               long endTime,
+                               String payload) throws IOException {
+        final int fragmentIndex = payload.lastIndexOf(REGION_FRAGMENT);
+        if (fragmentIndex == -1) {
+            try {
+                builder.add(startTime, endTime, payload);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid cue: " + payload, e);
+            }
+            return;
+        }
+        final String imageUri = payload.substring(0, fragmentIndex);
+        int start = fragmentIndex + REGION_FRAGMENT.length();
+        if (payload.startsWith(PIXEL_UNIT, start)) {
+            start += PIXEL_UNIT.length();
+        }
+        final int[] values = new int[4];
+        for (int i = 0; i < values.length; i++) {
+            int end = payload.indexOf(',', start);
+            if (end == -1) {
+                end = payload.length();
+            }
+            values[i] = parseInt(payload, start, end);
+            start = end + 1;
+        }
+        try {
+            builder.add(startTime, endTime, imageUri, values[0], values[1], values[2], values[3]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid cue: " + payload, e);
+        }
+    }
+
+    /**
+     * Parses timestamps in the format [hh:]mm:ss.ttt into milliseconds,
+     * ignoring any whitespace or cue settings around them
+     */
+    static long parseTimestamp(String line, int start, int end) throws IOException {
+        // Skip leading whitespace
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        long seconds = 0;
+        long value = 0;
+        long millis = 0;
+        int millisDigits = -1;
+        int components = 0;
+        int i = start;
+        for (; i < end; i++) {
+            final char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (millisDigits >= 0) {
+                    if (millisDigits < 3) {
+                        millis = millis * 10 + (c - '0');
+                    }
+                    millisDigits++;
+                } else {
+                    value = value * 10 + (c - '0');
+                }
+            } else if (c == ':' && millisDigits < 0) {
+                seconds = (seconds + value) * 60;
+                value = 0;
+                components++;
+            } else if (c == '.' && millisDigits < 0) {
+                millisDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == start || millisDigits != 3 || components < 1 || components > 2) {
+            throw new IOException("Invalid timestamp: " + line);
+        }
+        return (seconds + value) * 1000 + millis;
+    }
+
+    private static int parseInt(String text, int start, int end) throws IOException {
+        if (start >= end) {
+            throw new IOException("Invalid cue: " + text);
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IOException("Invalid cue: " + text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+}
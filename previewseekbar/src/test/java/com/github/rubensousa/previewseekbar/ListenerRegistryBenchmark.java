@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the cost of dispatching an event to 1 to 64 listeners.
+ * It's too slow for every test run, so it only runs manually, after removing {@link Ignore}.
+ * The allocation check runs with every test run in {@link ListenerRegistryTest}
+ */
+@Ignore("Benchmark, run manually")
+public class ListenerRegistryBenchmark {
+
+    private static final int[] LISTENER_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int WARM_UP_DISPATCHES = 200000;
+    private static final int MEASURED_DISPATCHES = 1000000;
+    // A generous bound, so the benchmark only fails if dispatching became much slower
+    private static final double MAX_NANOS_PER_LISTENER = 50;
+
+    @Test
+    public void dispatchCost() {
+        final StringBuilder results = new StringBuilder();
+        boolean withinBound = true;
+        for (int listenerCount : LISTENER_COUNTS) {
+            final ListenerRegistry<Listener> registry = new ListenerRegistry<>(new Listener[0]);
+            final CountingListener[] listeners = new CountingListener[listenerCount];
+            for (int i = 0; i < listenerCount; i++) {
+                listeners[i] = new CountingListener();
+                registry.add(listeners[i]);
+            }
+
+            dispatch(registry, WARM_UP_DISPATCHES);
+            final long start = System.nanoTime();
+            dispatch(registry, MEASURED_DISPATCHES);
+            final double nanosPerDispatch = (double) (System.nanoTime() - start)
+                    / MEASURED_DISPATCHES;
+
+            results.append(listenerCount).append(" listeners: ")
+                    .append(nanosPerDispatch).append(" ns/dispatch\n");
+            withinBound &= nanosPerDispatch <= MAX_NANOS_PER_LISTENER * listenerCount;
+            for (CountingListener listener : listeners) {
+                assertEquals(WARM_UP_DISPATCHES + MEASURED_DISPATCHES, listener.events);
+            }
+        }
+        assertTrue(results.toString(), withinBound);
+    }
+
+    /**
+     * Dispatches the same way as {@link PreviewDelegate}
+     */
+    private static void dispatch(ListenerRegistry<Listener> registry, int dispatches) {
+        for (int event = 0; event < dispatches; event++) {
+            final Listener[] listeners = registry.getSnapshot();
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i].onEvent(event);
+            }
+        }
+    }
+
+    interface Listener {
+        void onEvent(int value);
+    }
+
+    private static class CountingListener implements Listener {
+
+        int events;
+
+        @Override
+        public void onEvent(int value) {
+            events++;
+        }
+    }
+
+}
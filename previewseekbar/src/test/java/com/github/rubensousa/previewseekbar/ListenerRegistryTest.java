@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListenerRegistryTest {
+
+    private static final int LISTENER_COUNT = 64;
+    private static final int WARM_UP_DISPATCHES = 20000;
+    private static final int MEASURED_DISPATCHES = 10000;
+
+    private ListenerRegistry<Listener> registry;
+    private List<String> events;
+
+    @Before
+    public void setup() {
+        registry = new ListenerRegistry<>(new Listener[0]);
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void addIgnoresDuplicates() {
+        final Listener listener = new RecordingListener("a");
+        registry.add(listener);
+        registry.add(listener);
+
+        assertArrayEquals(new Listener[]{listener}, registry.getSnapshot());
+    }
+
+    @Test
+    public void removeKeepsTheOrderOfTheOtherListeners() {
+        final Listener first = new RecordingListener("a");
+        final Listener second = new RecordingListener("b");
+        final Listener third = new RecordingListener("c");
+        registry.add(first);
+        registry.add(second);
+        registry.add(third);
+
+        registry.remove(second);
+
+        assertArrayEquals(new Listener[]{first, third}, registry.getSnapshot());
+    }
+
+    @Test
+    public void removeIgnoresUnknownListeners() {
+        final Listener listener = new RecordingListener("a");
+        registry.add(listener);
+
+        registry.remove(new RecordingListener("b"));
+
+        assertArrayEquals(new Listener[]{listener}, registry.getSnapshot());
+    }
+
+    @Test
+    public void listenerRemovedDuringDispatchStillReceivesThatDispatch() {
+        final Listener removed = new RecordingListener("removed");
+        registry.add(new Listener() {
+            @Override
+            public void onEvent(int value) {
+                events.add("remover " + value);
+                registry.remove(removed);
+            }
+        });
+        registry.add(removed);
+
+        dispatch(1);
+        dispatch(2);
+
+        assertEquals(Arrays.asList("remover 1", "removed 1", "remover 2"), events);
+    }
+
+    @Test
+    public void listenerCanRemoveItselfDuringDispatch() {
+        registry.add(new Listener() {
+            @Override
+            public void onEvent(int value) {
+                events.add("once " + value);
+                registry.remove(this);
+            }
+        });
+        registry.add(new RecordingListener("always"));
+
+        dispatch(1);
+        dispatch(2);
+
+        assertEquals(Arrays.asList("once 1", "always 1", "always 2"), events);
+    }
+
+    @Test
+    public void listenerAddedDuringDispatchOnlyReceivesTheNextDispatch() {
+        final Listener added = new RecordingListener("added");
+        registry.add(new Listener() {
+            @Override
+            public void onEvent(int value) {
+                events.add("adder " + value);
+                registry.add(added);
+            }
+        });
+
+        dispatch(1);
+        dispatch(2);
+
+        assertEquals(Arrays.asList("adder 1", "adder 2", "added 2"), events);
+    }
+
+    @Test
+    public void dispatchDoesNotAllocate() {
+        for (int i = 0; i < LISTENER_COUNT; i++) {
+            registry.add(new CountingListener());
+        }
+        // Lets the JIT compile the dispatch loop
+        for (int i = 0; i < WARM_UP_DISPATCHES; i++) {
+            dispatch(i);
+        }
+
+        final long allocatedBefore = getAllocatedBytes();
+        for (int i = 0; i < MEASURED_DISPATCHES; i++) {
+            dispatch(i);
+        }
+        final long allocated = getAllocatedBytes() - allocatedBefore;
+
+        // Less than a byte per dispatch means no dispatch allocated an object
+        assertTrue("Dispatching allocated " + allocated + " bytes in "
+                + MEASURED_DISPATCHES + " dispatches", allocated < MEASURED_DISPATCHES);
+    }
+
+    private static long getAllocatedBytes() {
+        final com.sun.management.ThreadMXBean threadBean
+                = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Dispatches the same way as {@link PreviewDelegate}
+     */
+    private void dispatch(int value) {
+        final Listener[] listeners = registry.getSnapshot();
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onEvent(value);
+        }
+    }
+
+    interface Listener {
+        void onEvent(int value);
+    }
+
+    private class RecordingListener implements Listener {
+
+        private final String name;
+
+        RecordingListener(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onEvent(int value) {
+            events.add(name + " " + value);
+        }
+    }
+
+    private static class CountingListener implements Listener {
+
+        int events;
+
+        @Override
+        public void onEvent(int value) {
+            events++;
+        }
+    }
+
+}
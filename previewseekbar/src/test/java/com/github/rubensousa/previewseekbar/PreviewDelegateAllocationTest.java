@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.rubensousa.previewseekbar.animator.PreviewAnimator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Checks that applying a scrub movement doesn't allocate,
+ * so scrubbing doesn't trigger garbage collections
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PreviewDelegateAllocationTest {
+
+    private static final int WARM_UP_EVENTS = 20000;
+    private static final int MEASURED_EVENTS = 10000;
+    private static final int WARM_UP_FRAMES = 5000;
+    private static final int MEASURED_FRAMES = 5000;
+    private static final int MOVES_PER_FRAME = 4;
+    private static final long MAX = 3_600_000L;
+    // The JVM and Robolectric allocate now and then, like after a deoptimization,
+    // but an allocation of the delegate shows up in every scrub move or frame
+    private static final int MAX_ALLOCATING_PERCENT = 1;
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN
+            = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private PreviewDelegate delegate;
+    private int dispatchedMoves;
+    private long frameStartAllocatedBytes;
+    private long frameCallbackAllocatedBytes;
+    private final Choreographer.FrameCallback frameStartCallback
+            = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameStartAllocatedBytes = getAllocatedBytes();
+        }
+    };
+    private final Choreographer.FrameCallback frameEndCallback
+            = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameCallbackAllocatedBytes = getAllocatedBytes() - frameStartAllocatedBytes;
+        }
+    };
+
+    @Before
+    public void setup() {
+        final Context context = RuntimeEnvironment.getApplication();
+        final FrameLayout parent = new FrameLayout(context);
+        final TestPreviewBar previewBar = new TestPreviewBar(context);
+        final FrameLayout previewView = new FrameLayout(context);
+        parent.addView(previewBar, new FrameLayout.LayoutParams(1000, 50));
+        parent.addView(previewView, new FrameLayout.LayoutParams(200, 100));
+        parent.measure(View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, 1000, 500);
+
+        delegate = new PreviewDelegate(previewBar);
+        delegate.setPreviewEnabled(true);
+        delegate.setAnimationEnabled(false);
+        delegate.attachPreviewView(previewView);
+        delegate.setPreviewLoader(new PreviewLoader() {
+            @Override
+            public void loadPreview(long currentPosition, long max) {
+
+            }
+        });
+        delegate.addOnScrubListener(new PreviewBar.OnScrubListener() {
+            @Override
+            public void onScrubStart(PreviewBar previewBar) {
+
+            }
+
+            @Override
+            public void onScrubMove(PreviewBar previewBar, int progress, boolean fromUser) {
+                dispatchedMoves++;
+            }
+
+            @Override
+            public void onScrubStop(PreviewBar previewBar) {
+
+            }
+        });
+    }
+
+    @Test
+    public void scrubMoveDoesNotAllocate() {
+        delegate.onScrubStart();
+        // Shows the preview and lets the JIT compile the scrub path
+        scrub(WARM_UP_EVENTS);
+
+        final int allocatingEvents = scrub(MEASURED_EVENTS);
+
+        delegate.onScrubStop();
+        assertTrue(allocatingEvents + " of " + MEASURED_EVENTS + " scrub moves allocated",
+                allocatingEvents * 100 <= MEASURED_EVENTS * MAX_ALLOCATING_PERCENT);
+    }
+
+    @Test
+    public void coalescedScrubMoveDoesNotAllocate() {
+        delegate.setFrameCoalescingEnabled(true);
+        delegate.onScrubStart();
+        // Shows the preview and lets the JIT compile the scrub path
+        scrubFrames(WARM_UP_FRAMES);
+
+        dispatchedMoves = 0;
+        final int allocatingFrames = scrubFrames(MEASURED_FRAMES);
+
+        delegate.onScrubStop();
+        // Only the latest move of each frame is applied, from the frame callback
+        assertEquals(MEASURED_FRAMES, dispatchedMoves);
+        assertTrue(allocatingFrames + " of " + MEASURED_FRAMES + " coalesced frames allocated",
+                allocatingFrames * 100 <= MEASURED_FRAMES * MAX_ALLOCATING_PERCENT);
+    }
+
+    /**
+     * @return the number of scrub moves that allocated
+     */
+    private int scrub(int events) {
+        int allocatingEvents = 0;
+        for (int i = 0; i < events; i++) {
+            final long allocatedBefore = getAllocatedBytes();
+            delegate.onScrubMove(i * 7919L % MAX, MAX, true);
+            if (getAllocatedBytes() != allocatedBefore) {
+                allocatingEvents++;
+            }
+        }
+        return allocatingEvents;
+    }
+
+    /**
+     * Scrubs several times per frame and runs the frame, measuring only the allocations
+     * of the scrub moves and of the frame callback of the delegate,
+     * since Robolectric allocates while running the frames
+     *
+     * @return the number of frames where the delegate allocated
+     */
+    private int scrubFrames(int frames) {
+        final ShadowLooper mainLooper = shadowOf(Looper.getMainLooper());
+        final Choreographer choreographer = Choreographer.getInstance();
+        int allocatingFrames = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            // Frame callbacks run in the order they're posted,
+            // so these ones run right before and after the one of the delegate
+            choreographer.postFrameCallback(frameStartCallback);
+            final long allocatedBefore = getAllocatedBytes();
+            for (int i = 0; i < MOVES_PER_FRAME; i++) {
+                delegate.onScrubMove((frame * MOVES_PER_FRAME + i) * 7919L % MAX, MAX, true);
+            }
+            final long movesAllocatedBytes = getAllocatedBytes() - allocatedBefore;
+            choreographer.postFrameCallback(frameEndCallback);
+            frameCallbackAllocatedBytes = 0;
+            mainLooper.idleFor(ShadowChoreographer.getFrameDelay());
+            if (movesAllocatedBytes + frameCallbackAllocatedBytes != 0) {
+                allocatingFrames++;
+            }
+        }
+        return allocatingFrames;
+    }
+
+    private static long getAllocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * A minimal {@link PreviewBar}, so the test only measures the delegate
+     */
+    private static class TestPreviewBar extends View implements PreviewBar {
+
+        TestPreviewBar(Context context) {
+            super(context);
+        }
+
+        @Override
+        public int getProgress() {
+            return 0;
+        }
+
+        @Override
+        public int getMax() {
+            return (int) MAX;
+        }
+
+        @Override
+        public int getThumbOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getScrubberColor() {
+            return 0;
+        }
+
+        @Override
+        public boolean isShowingPreview() {
+            return false;
+        }
+
+        @Override
+        public boolean isPreviewEnabled() {
+            return true;
+        }
+
+        @Override
+        public void setPreviewEnabled(boolean enabled) {
+
+        }
+
+        @Override
+        public void showPreview() {
+
+        }
+
+        @Override
+        public void hidePreview() {
+
+        }
+
+        @Override
+        public void setAutoHidePreview(boolean autoHide) {
+
+        }
+
+        @Override
+        public void setPreviewAnimator(@NonNull PreviewAnimator animator) {
+
+        }
+
+        @Override
+        public void setPreviewAnimationEnabled(boolean enabled) {
+
+        }
+
+        @Override
+        public void setPreviewLoader(@Nullable PreviewLoader previewLoader) {
+
+        }
+
+        @Override
+        public void setPreviewThumbTint(int color) {
+
+        }
+
+        @Override
+        public void setPreviewThumbTintResource(int colorResource) {
+
+        }
+
+        @Override
+        public void attachPreviewView(@NonNull FrameLayout previewView) {
+
+        }
+
+        @Override
+        public void addOnScrubListener(OnScrubListener listener) {
+
+        }
+
+        @Override
+        public void removeOnScrubListener(OnScrubListener listener) {
+
+        }
+
+        @Override
+        public void addOnPreviewVisibilityListener(OnPreviewVisibilityListener listener) {
+
+        }
+
+        @Override
+        public void removeOnPreviewVisibilityListener(OnPreviewVisibilityListener listener) {
+
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar;
+
+import android.graphics.Bitmap;
+import android.os.Looper;
+import android.widget.ImageView;
+
+import androidx.annotation.Nullable;
+
+import com.github.rubensousa.previewseekbar.loader.ImagePreviewLoader;
+import com.github.rubensousa.previewseekbar.loader.PreviewDecodeScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreviewRequestDispatcherTest {
+
+    private static final long MAX = 100_000L;
+    private static final long TILE_DURATION = 1000L;
+    private static final long TIMEOUT_MS = 5000L;
+
+    private PreviewDecodeScheduler scheduler;
+    private TestPreviewLoader loader;
+    private PreviewRequestDispatcher dispatcher;
+    private CountDownLatch blockerStarted;
+    private CountDownLatch blockerReleased;
+
+    @Before
+    public void setup() {
+        scheduler = new PreviewDecodeScheduler(1);
+        loader = new TestPreviewLoader(new ImageView(RuntimeEnvironment.getApplication()),
+                scheduler);
+        dispatcher = new PreviewRequestDispatcher();
+        dispatcher.setLoader(loader);
+        blockerStarted = new CountDownLatch(1);
+        blockerReleased = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        blockerReleased.countDown();
+        loader.release();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void queuedPreviewFarFromThePendingPositionIsDropped() throws InterruptedException {
+        blockDecodingThread();
+
+        dispatcher.request(0, MAX);
+        dispatcher.request(50 * TILE_DURATION, MAX);
+        blockerReleased.countDown();
+
+        awaitDecodedTiles(1);
+        assertEquals(Arrays.asList(50L), loader.decodedTiles);
+    }
+
+    @Test
+    public void queuedPreviewNextToThePendingPositionIsDecoded() throws InterruptedException {
+        blockDecodingThread();
+
+        dispatcher.request(0, MAX);
+        dispatcher.request(TILE_DURATION, MAX);
+        blockerReleased.countDown();
+
+        awaitDecodedTiles(2);
+        assertEquals(Arrays.asList(0L, 1L), loader.decodedTiles);
+    }
+
+    /**
+     * Keeps the only decoding thread busy, so the next preview stays queued
+     */
+    private void blockDecodingThread() throws InterruptedException {
+        scheduler.execute(new PreviewDecodeScheduler.Task(new Object(),
+                PreviewDecodeScheduler.PRIORITY_VISIBLE) {
+            @Override
+            public void run() {
+                blockerStarted.countDown();
+                try {
+                    blockerReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(blockerStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Runs the main looper until the decoding thread decoded the expected number of tiles
+     */
+    private void awaitDecodedTiles(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            if (loader.decodedTiles.size() >= count) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static class TestPreviewLoader extends ImagePreviewLoader {
+
+        final List<Long> decodedTiles = new CopyOnWriteArrayList<>();
+
+        TestPreviewLoader(ImageView imageView, PreviewDecodeScheduler scheduler) {
+            super(imageView, scheduler);
+        }
+
+        @Override
+        protected long getTileIndex(long position, long max) {
+            return position / TILE_DURATION;
+        }
+
+        @Nullable
+        @Override
+        protected Bitmap decodeTile(long tileIndex) {
+            decodedTiles.add(tileIndex);
+            return Bitmap.createBitmap(16, 9, Bitmap.Config.ARGB_8888);
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.previewseekbar.loader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class PackedThumbnailFileTest {
+
+    private static final byte[] FIRST_TILE = {1, 2, 3};
+    private static final byte[] SECOND_TILE = {4, 5, 6, 7, 8};
+    private static final byte[] THIRD_TILE = {9};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = temporaryFolder.newFile("thumbnails.psbt");
+    }
+
+    @Test
+    public void readsWhatTheWriterWrote() throws IOException {
+        final PackedThumbnailWriter writer = new PackedThumbnailWriter(file, 160, 90);
+        writer.addTile(0, 1000, FIRST_TILE, 0, FIRST_TILE.length);
+        writer.addTile(1000, 2000, SECOND_TILE, 0, SECOND_TILE.length);
+        // Leaves a gap without thumbnails between 2000 and 5000
+        writer.addTile(5000, 6000, THIRD_TILE, 0, THIRD_TILE.length);
+        writer.finish();
+
+        final PackedThumbnailFile packedFile = PackedThumbnailFile.open(file);
+        try {
+            assertEquals(3, packedFile.getTileCount());
+            assertEquals(160, packedFile.getTileWidth());
+            assertEquals(90, packedFile.getTileHeight());
+            assertEquals(1000, packedFile.getStartTime(1));
+            assertEquals(2000, packedFile.getEndTime(1));
+            assertEquals(5000, packedFile.getStartTime(2));
+            assertEquals(6000, packedFile.getEndTime(2));
+
+            assertEquals(0, packedFile.findTile(0));
+            assertEquals(0, packedFile.findTile(999));
+            assertEquals(1, packedFile.findTile(1000));
+            assertEquals(PackedThumbnailFile.NO_TILE, packedFile.findTile(-1));
+            assertEquals(PackedThumbnailFile.NO_TILE, packedFile.findTile(3000));
+            assertEquals(2, packedFile.findTile(5999));
+            assertEquals(PackedThumbnailFile.NO_TILE, packedFile.findTile(6000));
+
+            assertArrayEquals(FIRST_TILE, readTile(packedFile, 0));
+            assertArrayEquals(SECOND_TILE, readTile(packedFile, 1));
+            assertArrayEquals(THIRD_TILE, readTile(packedFile, 2));
+            final ByteBuffer tile = packedFile.getTile(1);
+            final byte[] tileBytes = new byte[tile.remaining()];
+            tile.get(tileBytes);
+            assertArrayEquals(SECOND_TILE, tileBytes);
+        } finally {
+            packedFile.close();
+        }
+    }
+
+    @Test
+    public void closingWithoutFinishingKeepsThePreviousFile() throws IOException {
+        final PackedThumbnailWriter writer = new PackedThumbnailWriter(file, 0, 0);
+        writer.addTile(0, 1000, FIRST_TILE, 0, FIRST_TILE.length);
+        writer.close();
+
+        assertEquals(0, file.length());
+        assertFalse(new File(file.getPath() + ".data").exists());
+    }
+
+    @Test
+    public void rejectsNegativeTileLength() throws IOException {
+        writeContainer(1, index(0, 1000, -1));
+
+        assertCorrupted();
+    }
+
+    @Test
+    public void rejectsTileLengthPastTheEndOfTheFile() throws IOException {
+        writeContainer(1, index(0, 1000, 100), FIRST_TILE);
+
+        assertCorrupted();
+    }
+
+    @Test
+    public void rejectsNegativeStartTimeDelta() throws IOException {
+        writeContainer(2, index(1000, 1000, 1, -500, 1000, 1), new byte[]{1, 2});
+
+        assertCorrupted();
+    }
+
+    @Test
+    public void rejectsEndTimeOverflow() throws IOException {
+        writeContainer(1, index(Long.MAX_VALUE - 10, 1000, 1), new byte[]{1});
+
+        assertCorrupted();
+    }
+
+    @Test
+    public void rejectsTileCountBiggerThanTheIndex() throws IOException {
+        writeContainer(Integer.MAX_VALUE, index(0, 1000, 1), new byte[]{1});
+
+        assertCorrupted();
+    }
+
+    @Test
+    public void rejectsWrongMagic() throws IOException {
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(new byte[PackedThumbnailFile.HEADER_SIZE]);
+        } finally {
+            output.close();
+        }
+
+        assertCorrupted();
+    }
+
+    private void assertCorrupted() {
+        try {
+            PackedThumbnailFile.open(file).close();
+            fail("A corrupted file was opened");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    private static byte[] readTile(PackedThumbnailFile packedFile, int index) {
+        final byte[] tile = new byte[packedFile.getTileLength(index)];
+        assertEquals(tile.length, packedFile.readTile(index, tile));
+        return tile;
+    }
+
+    /**
+     * Writes a container with a custom index, which the writer would refuse to write
+     */
+    private void writeContainer(int tileCount, byte[] index, byte[]... tiles) throws IOException {
+        final DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+        try {
+            output.write(PackedThumbnailFile.MAGIC);
+            output.writeByte(PackedThumbnailFile.VERSION);
+            output.write(new byte[3]);
+            output.writeInt(tileCount);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(index.length);
+            output.write(index);
+            for (byte[] tile : tiles) {
+                output.write(tile);
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * @param values the start time delta, duration and length of each tile,
+     *               encoded as unsigned varints, so negative values take 10 bytes
+     */
+    private static byte[] index(long... values) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (long value : values) {
+            while ((value & ~0x7FL) != 0) {
+                output.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            output.write((int) value);
+        }
+        return output.toByteArray();
+    }
+
+}
@@ -20,6 +20,8 @@ package com.github.rubensousa.previewseekbar.sample;
 import android.net.Uri;
 import android.widget.ImageView;
 
+import androidx.annotation.NonNull;
+
 import androidx.annotation.OptIn;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.Player;
@@ -28,21 +30,34 @@ import androidx.media3.common.util.Util;
 import androidx.media3.exoplayer.ExoPlayer;
 import androidx.media3.ui.PlayerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.target.Target;
+import com.github.rubensousa.previewseekbar.FixedIntervalBucketPolicy;
 import com.github.rubensousa.previewseekbar.PreviewBar;
-import com.github.rubensousa.previewseekbar.PreviewLoader;
+import com.github.rubensousa.previewseekbar.cache.BitmapPool;
+import com.github.rubensousa.previewseekbar.cache.ThumbnailCache;
+import com.github.rubensousa.previewseekbar.loader.PreviewPrefetcher;
+import com.github.rubensousa.previewseekbar.loader.PreviewWarmUpScheduler;
+import com.github.rubensousa.previewseekbar.loader.SpriteSheetPreviewLoader;
 import com.github.rubensousa.previewseekbar.media3.PreviewTimeBar;
 
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
 @OptIn(markerClass = UnstableApi.class)
-public class ExoPlayerManager implements PreviewLoader, PreviewBar.OnScrubListener {
+public class ExoPlayerManager implements PreviewBar.OnScrubListener {
 
     private static final String VIDEO_PATH = "asset:///video.mp4";
+    private static final int THUMBNAIL_COLUMNS = 7;
+    private static final int THUMBNAIL_ROWS = 7;
+    private static final int THUMBNAILS_EACH = 5000; // milliseconds
+    private static final int MAX_PREFETCH_COUNT = 4;
+    private static final int BITMAP_POOL_SIZE = 1024 * 1024; // bytes
 
     private PlayerView playerView;
     private ExoPlayer player;
     private PreviewTimeBar previewTimeBar;
     private ImageView imageView;
+    private SpriteSheetPreviewLoader previewLoader;
+    private PreviewWarmUpScheduler warmUpScheduler;
     private boolean resumeVideoOnPreviewStop;
     private Player.Listener eventListener = new Player.Listener() {
         @Override
@@ -60,7 +75,25 @@ public class ExoPlayerManager implements PreviewLoader, PreviewBar.OnScrubListen
         this.imageView = imageView;
         this.previewTimeBar = previewTimeBar;
         this.previewTimeBar.addOnScrubListener(this);
-        this.previewTimeBar.setPreviewLoader(this);
+        this.previewLoader = new SpriteSheetPreviewLoader(imageView,
+                new SpriteSheetPreviewLoader.SpriteSource() {
+                    @NonNull
+                    @Override
+                    public InputStream openSpriteSheet(int index) throws FileNotFoundException {
+                        if (index != 0) {
+                            throw new FileNotFoundException("No sprite sheet for index " + index);
+                        }
+                        return imageView.getResources().openRawResource(R.raw.thumbnail_sprite);
+                    }
+                }, THUMBNAIL_COLUMNS, THUMBNAIL_ROWS, THUMBNAILS_EACH);
+        this.previewLoader.setThumbnailCache(ThumbnailCache.createWithMemoryFraction(0.1f,
+                new BitmapPool(BITMAP_POOL_SIZE)), VIDEO_PATH);
+        this.previewTimeBar.setAsyncPreviewLoader(previewLoader);
+        this.previewTimeBar.setPreviewBucketPolicy(new FixedIntervalBucketPolicy(THUMBNAILS_EACH));
+        this.previewTimeBar.addOnScrubListener(new PreviewPrefetcher(previewLoader,
+                THUMBNAILS_EACH, MAX_PREFETCH_COUNT));
+        this.warmUpScheduler = new PreviewWarmUpScheduler(imageView.getContext(),
+                previewTimeBar, previewLoader, THUMBNAILS_EACH);
         this.resumeVideoOnPreviewStop = true;
     }
 
@@ -88,11 +121,17 @@ public class ExoPlayerManager implements PreviewLoader, PreviewBar.OnScrubListen
         }
     }
 
+    public void onDestroy() {
+        previewTimeBar.setAsyncPreviewLoader(null);
+        previewLoader.release();
+    }
+
     public void setResumeVideoOnPreviewStop(boolean resume) {
         this.resumeVideoOnPreviewStop = resume;
     }
 
     private void releasePlayers() {
+        warmUpScheduler.stop();
         if (player != null) {
             player.release();
             player = null;
@@ -106,6 +145,7 @@ public class ExoPlayerManager implements PreviewLoader, PreviewBar.OnScrubListen
         player = createPlayer();
         playerView.setPlayer(player);
         playerView.setControllerShowTimeoutMs(15000);
+        warmUpScheduler.start();
     }
 
     private ExoPlayer createPlayer() {
@@ -120,16 +160,10 @@ public class ExoPlayerManager implements PreviewLoader, PreviewBar.OnScrubListen
         return player;
     }
 
-    @Override
-    public void loadPreview(long currentPosition, long max) {
-        if (player.isPlaying()) {
+    public void pause() {
+        if (player != null && player.isPlaying()) {
             player.setPlayWhenReady(false);
         }
-        Glide.with(imageView)
-                .load(R.raw.thumbnail_sprite)
-                .override(Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL)
-                .transform(new GlideThumbnailTransformation(currentPosition))
-                .into(imageView);
     }
 
     @Override
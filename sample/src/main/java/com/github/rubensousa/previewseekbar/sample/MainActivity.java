@@ -110,6 +110,12 @@ public class MainActivity extends AppCompatActivity {
         exoPlayerManager.onStop();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        exoPlayerManager.onDestroy();
+    }
+
     @OptIn(markerClass = UnstableApi.class)
     private void setupOptions() {
         // Enable or disable the previews
@@ -156,9 +162,9 @@ public class MainActivity extends AppCompatActivity {
             if (previewTimeBar.isShowingPreview()) {
                 previewTimeBar.hidePreview();
             } else {
+                // The bar loads the preview of the current position once it's shown
+                exoPlayerManager.pause();
                 previewTimeBar.showPreview();
-                exoPlayerManager.loadPreview(previewTimeBar.getProgress(),
-                        previewTimeBar.getMax());
             }
             if (previewSeekBar.isShowingPreview()) {
                 previewSeekBar.hidePreview();